@@ -0,0 +1,189 @@
+package com.netflix.clone.cache;
+
+import com.netflix.clone.enums.ChangeLogEntity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache invalidation between nodes without a broker. Mutations append a row in their own transaction; every node polls
+ * the table by primary key and republishes other nodes' rows as {@link ChangeLogEvent}s for its local caches.
+ * <p>
+ * Auto-increment ids are assigned at insert but become visible at commit, so a lower id can appear after a higher one
+ * was read. Skipped ids are remembered and looked up by key on later polls until they show up or are older than the
+ * gap timeout, which covers rolled-back inserts.
+ */
+@Component
+public class ChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLog.class);
+
+    private static final String INSERT_SQL = "INSERT INTO change_log (entity, entity_key, version, origin, created_millis) VALUES (?, ?, ?, ?, ?)";
+    private static final String TAIL_SQL = "SELECT id, entity, entity_key, version, origin, created_millis FROM change_log WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String GAP_SQL = "SELECT id, entity, entity_key, version, origin, created_millis FROM change_log WHERE id IN (?)";
+    private static final int MAX_PENDING_GAPS = 10000;
+    private static final int MAX_GAP_LOOKUP = 500;
+
+    private record Row(long id, ChangeLogEntity entity, String key, long version, String origin, long createdMillis) {}
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(rs.getLong(1), ChangeLogEntity.valueOf(rs.getString(2)),
+            rs.getString(3), rs.getLong(4), rs.getString(5), rs.getLong(6));
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Timer propagation;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    // Highest id read so far, and ids below it that were not visible yet, with when the gap was first seen.
+    private long highestSeen = -1;
+
+    private final TreeMap<Long, Long> pendingGaps = new TreeMap<>();
+
+    @Value("${app.cache.change-log.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.cache.change-log.gap-timeout-ms:10000}")
+    private long gapTimeoutMs;
+
+    @Value("${app.cache.change-log.retention-ms:3600000}")
+    private long retentionMs;
+
+    public ChangeLog(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.propagation = Timer.builder("cache.change_log.propagation").register(meterRegistry);
+        Gauge.builder("cache.change_log.lag", lagMillis, AtomicLong::get).baseUnit("milliseconds").register(meterRegistry);
+    }
+
+    public void userChanged(Long userId, String email) {
+        append(ChangeLogEntity.USER, email, userId);
+    }
+
+    public void watchlistChanged(String email) {
+        append(ChangeLogEntity.WATCHLIST, email, 0);
+    }
+
+    public void catalogChanged() {
+        append(ChangeLogEntity.CATALOG, "*", 0);
+    }
+
+    public void userTokensRevoked(Long userId, int epoch) {
+        append(ChangeLogEntity.USER_TOKENS, userId.toString(), epoch);
+    }
+
+    public void accessTokenRevoked(String tokenId, Instant expiresAt) {
+        append(ChangeLogEntity.ACCESS_TOKEN, tokenId, expiresAt.getEpochSecond());
+    }
+
+    // Joins the caller's transaction, so the row commits or rolls back with the change it describes.
+    private void append(ChangeLogEntity entity, String key, long version) {
+        jdbcTemplate.update(INSERT_SQL, entity.name(), key, version, nodeId, System.currentTimeMillis());
+    }
+
+    // Earlier rows describe changes this node's caches never held, so tailing starts at the current end.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        try {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+            highestSeen = max != null ? max : 0;
+        } catch (Exception ex) {
+            logger.warn("Could not read change log position: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Propagation lag is bounded by the poll interval plus query time, and is measured per row from the writer's
+     * clock, so it also absorbs clock skew between nodes.
+     */
+    @Scheduled(initialDelayString = "${app.cache.change-log.poll-interval-ms:500}", fixedDelayString = "${app.cache.change-log.poll-interval-ms:500}")
+    public synchronized void poll() {
+        if(highestSeen < 0) {
+            return;
+        }
+        Map<String, Row> changes = new LinkedHashMap<>();
+        try {
+            long now = System.currentTimeMillis();
+            if(!pendingGaps.isEmpty()) {
+                List<Long> ids = pendingGaps.keySet().stream().limit(MAX_GAP_LOOKUP).toList();
+                String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+                for(Row row : jdbcTemplate.query(GAP_SQL.replace("?", placeholders), ROW_MAPPER, ids.toArray())) {
+                    pendingGaps.remove(row.id());
+                    collect(changes, row, now);
+                }
+                pendingGaps.values().removeIf(firstSeen -> firstSeen < now - gapTimeoutMs);
+            }
+
+            List<Row> rows;
+            do {
+                rows = jdbcTemplate.query(TAIL_SQL, ROW_MAPPER, highestSeen, batchSize);
+                for(Row row : rows) {
+                    for(long missing = highestSeen + 1; missing < row.id() && pendingGaps.size() < MAX_PENDING_GAPS; missing++) {
+                        pendingGaps.put(missing, now);
+                    }
+                    highestSeen = row.id();
+                    collect(changes, row, now);
+                }
+            } while(rows.size() == batchSize);
+        } catch (Exception ex) {
+            logger.warn("Could not poll change log: {}", ex.getMessage(), ex);
+        } finally {
+            changes.values().forEach(this::publish);
+        }
+    }
+
+    // Repeated changes to the same key within one poll, such as a bulk import, are applied once.
+    private void collect(Map<String, Row> changes, Row row, long now) {
+        if(nodeId.equals(row.origin())) {
+            return;
+        }
+        long lag = Math.max(0, now - row.createdMillis());
+        lagMillis.set(lag);
+        propagation.record(lag, TimeUnit.MILLISECONDS);
+        String key = row.entity() + ":" + row.key();
+        changes.remove(key);
+        changes.put(key, row);
+    }
+
+    private void publish(Row row) {
+        try {
+            eventPublisher.publishEvent(new ChangeLogEvent(row.entity(), row.key(), row.version()));
+        } catch (Exception ex) {
+            logger.warn("Could not apply change log row {}: {}", row.id(), ex.getMessage(), ex);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.cache.change-log.purge-interval-ms:600000}", fixedDelayString = "${app.cache.change-log.purge-interval-ms:600000}")
+    public void purge() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM change_log WHERE created_millis < ?", System.currentTimeMillis() - retentionMs);
+            logger.debug("Purged {} change log rows", deleted);
+        } catch (Exception ex) {
+            logger.warn("Could not purge change log: {}", ex.getMessage(), ex);
+        }
+    }
+}
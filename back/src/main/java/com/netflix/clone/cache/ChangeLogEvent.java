@@ -0,0 +1,10 @@
+package com.netflix.clone.cache;
+
+import com.netflix.clone.enums.ChangeLogEntity;
+
+/**
+ * A change committed by another node, published locally by {@link ChangeLog}. The meaning of key and version depends
+ * on the entity: an email and user id for users, an email for watchlists, a user id and token epoch for revocations.
+ */
+public record ChangeLogEvent(ChangeLogEntity entity, String key, long version) {
+}
@@ -0,0 +1,85 @@
+package com.netflix.clone.cache;
+
+import com.netflix.clone.entity.User;
+import com.netflix.clone.entity.Video;
+import com.netflix.clone.security.TokenRevocationRegistry;
+import com.netflix.clone.service.FuzzySearchService;
+import com.netflix.clone.service.VideoSuggestionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Applies other nodes' changes to this node's caches, mirroring what the writing node did locally after commit.
+ * Recommendation co-occurrence counts are not replicated: a node's matrix picks up other nodes' watchlist changes at
+ * its next bootstrap.
+ */
+@Component
+public class ChangeLogSubscriber {
+
+    private UserSnapshotCache userSnapshotCache;
+
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    private WatchlistMembershipCache watchlistMembershipCache;
+
+    private ContentVersionTracker contentVersionTracker;
+
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    private VideoSuggestionService videoSuggestionService;
+
+    private FuzzySearchService fuzzySearchService;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    public ChangeLogSubscriber(UserSnapshotCache userSnapshotCache, RegisteredEmailFilter registeredEmailFilter,
+                               WatchlistMembershipCache watchlistMembershipCache, ContentVersionTracker contentVersionTracker,
+                               TokenRevocationRegistry tokenRevocationRegistry, VideoSuggestionService videoSuggestionService,
+                               FuzzySearchService fuzzySearchService, EntityManagerFactory entityManagerFactory) {
+        this.userSnapshotCache = userSnapshotCache;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.watchlistMembershipCache = watchlistMembershipCache;
+        this.contentVersionTracker = contentVersionTracker;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.videoSuggestionService = videoSuggestionService;
+        this.fuzzySearchService = fuzzySearchService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @EventListener
+    public void onRemoteChange(ChangeLogEvent change) {
+        switch(change.entity()) {
+            case USER -> {
+                // Signups on other nodes must reach the filter, or it would report their emails as unregistered.
+                registeredEmailFilter.added(change.key());
+                entityManagerFactory.getCache().evict(User.class, change.version());
+                userSnapshotCache.invalidate(change.key());
+                fuzzySearchService.markUsersChanged();
+            }
+            case WATCHLIST -> {
+                // Bump the version first so a membership load already in flight is discarded rather than cached.
+                contentVersionTracker.watchlistChanged(change.key());
+                watchlistMembershipCache.invalidate(change.key());
+            }
+            case CATALOG -> {
+                // Hibernate only evicts on the node that made the change; query results are keyed on local timestamps.
+                Cache secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
+                secondLevelCache.evictEntityData(Video.class);
+                secondLevelCache.evictCollectionData(Video.class.getName() + ".categories");
+                secondLevelCache.evictQueryRegions();
+                contentVersionTracker.catalogChanged();
+                videoSuggestionService.refresh();
+                fuzzySearchService.refreshVideos();
+            }
+            case USER_TOKENS -> {
+                entityManagerFactory.getCache().evict(User.class, Long.valueOf(change.key()));
+                tokenRevocationRegistry.revokeUser(Long.valueOf(change.key()), (int) change.version());
+            }
+            case ACCESS_TOKEN -> tokenRevocationRegistry.revokeToken(change.key(), Instant.ofEpochSecond(change.version()));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.netflix.clone.cache;
+
+import com.netflix.clone.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version counters behind the weak ETags of the catalog and watchlist endpoints. The catalog has one counter;
+ * watchlists share a fixed array of striped counters, so two users landing on the same stripe only costs a
+ * spurious cache miss. The boot epoch makes tags from a previous run never match.
+ */
+@Component
+public class ContentVersionTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private final AtomicLongArray watchlistVersions;
+
+    private final int stripeMask;
+
+    public ContentVersionTracker(@Value("${app.etag.watchlist-stripes:4096}") int watchlistStripes) {
+        int stripes = Integer.highestOneBit(Math.max(1, watchlistStripes - 1) * 2);
+        this.watchlistVersions = new AtomicLongArray(stripes);
+        this.stripeMask = stripes - 1;
+    }
+
+    // Bumped only after commit: a reader may then cache new data under the old tag (one extra refetch later),
+    // but never old data under the new tag.
+    public void catalogChanged() {
+        TransactionUtils.afterCommit(catalogVersion::incrementAndGet);
+    }
+
+    public void watchlistChanged(String email) {
+        int stripe = stripe(email);
+        TransactionUtils.afterCommit(() -> watchlistVersions.incrementAndGet(stripe));
+    }
+
+    public String catalogETag() {
+        return "W/\"" + epoch + "-c" + catalogVersion.get() + "\"";
+    }
+
+    // Bodies with signed media URLs also depend on the signing version, see MediaUrlUtils.signingVersion().
+    public String userCatalogETag(String email, String mediaVersion) {
+        return userCatalogETag(email, mediaVersion, null);
+    }
+
+    // Featured videos also follow the trending ranking, which moves with view flushes rather than catalog writes.
+    public String userCatalogETag(String email, String mediaVersion, Long trendingVersion) {
+        String media = mediaVersion != null ? "-m" + mediaVersion : "";
+        String trending = trendingVersion != null ? "-t" + trendingVersion : "";
+        return "W/\"" + epoch + "-c" + catalogVersion.get() + "-w" + watchlistVersions.get(stripe(email)) + media + trending + "\"";
+    }
+
+    public long watchlistVersion(String email) {
+        return watchlistVersions.get(stripe(email));
+    }
+
+    private int stripe(String email) {
+        int hash = email == null ? 0 : email.hashCode();
+        return (hash ^ (hash >>> 16)) & stripeMask;
+    }
+}
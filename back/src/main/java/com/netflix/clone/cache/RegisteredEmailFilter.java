@@ -0,0 +1,99 @@
+package com.netflix.clone.cache;
+
+import com.netflix.clone.dao.UserRepository;
+import com.netflix.clone.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bloom filter of every registered email, so signup-form probes for new addresses are answered without a query.
+ * A miss is definite; a hit still has to be confirmed against the database. Deleted emails cannot be removed from a
+ * bloom filter, so deletions and growth past the sizing mark the filter for a rebuild.
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private UserRepository userRepository;
+
+    private volatile BloomFilter filter;
+
+    private int capacity;
+
+    private int insertions;
+
+    private boolean stale;
+
+    @Value("${app.auth.email-filter.min-capacity:100000}")
+    private int minCapacity;
+
+    @Value("${app.auth.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    public RegisteredEmailFilter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * False only when the email is certainly not registered. Until the first build every email might exist.
+     */
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(normalize(email));
+    }
+
+    public synchronized void added(String email) {
+        if(filter != null) {
+            filter.put(normalize(email));
+            if(++insertions > capacity) {
+                stale = true;
+            }
+        }
+    }
+
+    public synchronized void removed(String email) {
+        stale = true;
+    }
+
+    @Scheduled(initialDelayString = "${app.auth.email-filter.rebuild-check-interval-ms:600000}", fixedDelayString = "${app.auth.email-filter.rebuild-check-interval-ms:600000}")
+    public void rebuildIfStale() {
+        boolean rebuild;
+        synchronized(this) {
+            rebuild = stale;
+        }
+        if(rebuild) {
+            rebuild();
+        }
+    }
+
+    // Sized at twice the current user count so signups can grow into it before the next rebuild.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        try {
+            List<String> emails = userRepository.findAllEmails();
+            int size = Math.max(minCapacity, emails.size() * 2);
+            BloomFilter rebuilt = new BloomFilter(size, falsePositiveRate);
+            emails.forEach(email -> rebuilt.put(normalize(email)));
+            filter = rebuilt;
+            capacity = size;
+            insertions = emails.size();
+            stale = false;
+            logger.debug("Registered email filter rebuilt with {} emails", emails.size());
+        } catch (Exception ex) {
+            logger.warn("Could not rebuild registered email filter: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
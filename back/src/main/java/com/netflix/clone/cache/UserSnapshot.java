@@ -0,0 +1,8 @@
+package com.netflix.clone.cache;
+
+import com.netflix.clone.enums.Role;
+
+/**
+ * The slim, immutable part of a user that authenticated requests need, without the password or token state.
+ */
+public record UserSnapshot(Long id, String email, String fullName, Role role, boolean active, boolean emailVerified) {}
@@ -0,0 +1,68 @@
+package com.netflix.clone.cache;
+
+import com.netflix.clone.dao.UserRepository;
+import com.netflix.clone.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through LRU of {@link UserSnapshot} by email. Mutations invalidate after commit; a load only caches its result
+ * if no invalidation happened while it ran, so a read racing a commit cannot reinstate the old snapshot. Loads inside
+ * read-only transactions may be served by a lagging replica, so they are returned but not cached.
+ */
+@Component
+public class UserSnapshotCache {
+
+    private UserRepository userRepository;
+
+    private final Map<String, UserSnapshot> snapshots;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserSnapshotCache(UserRepository userRepository, @Value("${app.users.snapshot-cache-size:20000}") int maxUsers) {
+        this.userRepository = userRepository;
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserSnapshot> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    public Optional<UserSnapshot> get(String email) {
+        UserSnapshot snapshot = snapshots.get(email);
+        if(snapshot != null) {
+            return Optional.of(snapshot);
+        }
+
+        long generation = invalidations.get();
+        Optional<UserSnapshot> loaded = userRepository.findSnapshotByEmail(email);
+        if(TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loaded;
+        }
+        loaded.ifPresent(value -> {
+            synchronized(snapshots) {
+                if(invalidations.get() == generation) {
+                    snapshots.put(email, value);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    public void invalidate(String email) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized(snapshots) {
+                invalidations.incrementAndGet();
+                snapshots.remove(email);
+            }
+        });
+    }
+}
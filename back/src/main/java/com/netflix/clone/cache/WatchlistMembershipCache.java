@@ -0,0 +1,141 @@
+package com.netflix.clone.cache;
+
+import com.netflix.clone.dao.UserRepository;
+import com.netflix.clone.entity.Video;
+import com.netflix.clone.util.LongHashSet;
+import com.netflix.clone.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Which videos each recently active user has saved, as primitive id sets behind an LRU over users, so responses can
+ * set isInWatchlist without a query. Sets are loaded on first use and then patched by watchlist mutations.
+ *
+ * A load only caches its result if the user's watchlist version in {@link ContentVersionTracker} did not move while
+ * it ran. Mutations must therefore call {@code watchlistChanged} before {@link #added}/{@link #removed}: both run
+ * after commit in registration order, so a load racing a commit either sees the bumped version and is discarded, or
+ * is cached first and then patched. Loads inside read-only transactions may come from a lagging replica, after the
+ * version bump they would need to be caught by, so they are returned but never cached.
+ */
+@Component
+public class WatchlistMembershipCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatchlistMembershipCache.class);
+
+    public static final Membership EMPTY = new Membership(new LongHashSet(0));
+
+    private UserRepository userRepository;
+
+    private ContentVersionTracker contentVersionTracker;
+
+    private final Map<String, Membership> users;
+
+    public static final class Membership {
+        private final LongHashSet videoIds;
+
+        private Membership(LongHashSet videoIds) {
+            this.videoIds = videoIds;
+        }
+
+        public synchronized boolean contains(long videoId) {
+            return videoIds.contains(videoId);
+        }
+
+        public synchronized long[] toArray() {
+            return videoIds.toArray();
+        }
+
+        private synchronized void add(long videoId) {
+            videoIds.add(videoId);
+        }
+
+        private synchronized void remove(long videoId) {
+            videoIds.remove(videoId);
+        }
+    }
+
+    public WatchlistMembershipCache(UserRepository userRepository, ContentVersionTracker contentVersionTracker,
+                                    @Value("${app.watchlist.membership-cache-users:20000}") int maxUsers) {
+        this.userRepository = userRepository;
+        this.contentVersionTracker = contentVersionTracker;
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Membership> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    public Membership forUser(String email) {
+        if(email == null) {
+            return EMPTY;
+        }
+        Membership membership = users.get(email);
+        if(membership != null) {
+            return membership;
+        }
+
+        long version = contentVersionTracker.watchlistVersion(email);
+        try {
+            Set<Long> saved = userRepository.findAllWatchlistVideoIds(email);
+            LongHashSet videoIds = new LongHashSet(saved.size());
+            saved.forEach(videoIds::add);
+            Membership loaded = new Membership(videoIds);
+            if(TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return loaded;
+            }
+            synchronized(users) {
+                if(contentVersionTracker.watchlistVersion(email) == version) {
+                    users.putIfAbsent(email, loaded);
+                }
+            }
+            return loaded;
+        } catch (Exception ex) {
+            logger.warn("Could not load watchlist membership for {}: {}", email, ex.getMessage());
+            return EMPTY;
+        }
+    }
+
+    public void decorate(String email, Collection<Video> videos) {
+        if(videos.isEmpty()) {
+            return;
+        }
+        Membership membership = forUser(email);
+        videos.forEach(video -> video.setIsInWatchlist(membership.contains(video.getId())));
+    }
+
+    public void added(String email, long videoId) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized(users) {
+                Membership membership = users.get(email);
+                if(membership != null) {
+                    membership.add(videoId);
+                }
+            }
+        });
+    }
+
+    public void removed(String email, long videoId) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized(users) {
+                Membership membership = users.get(email);
+                if(membership != null) {
+                    membership.remove(videoId);
+                }
+            }
+        });
+    }
+
+    public void invalidate(String email) {
+        users.remove(email);
+    }
+}
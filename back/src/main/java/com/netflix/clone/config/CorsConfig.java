@@ -17,7 +17,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins(allowedOrigins)
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Location", "Content-Disposition")
+                .exposedHeaders("Location", "Content-Disposition", "ETag")
                 .allowCredentials(false)
                 .maxAge(3600);
     }
@@ -0,0 +1,16 @@
+package com.netflix.clone.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    // Databases created by Hibernate before migrations existed already match V1, so they are baselined there and
+    // only run later versions.
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchemaCustomizer() {
+        return configuration -> configuration.baselineOnMigrate(true).baselineVersion("1");
+    }
+}
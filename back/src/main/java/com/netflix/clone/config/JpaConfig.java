@@ -0,0 +1,138 @@
+package com.netflix.clone.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class JpaConfig {
+
+    public static final String VIDEO_REGION = "videos";
+    public static final String VIDEO_CATEGORIES_REGION = "video-categories";
+    public static final String USER_REGION = "users";
+    private static final String QUERY_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${app.jpa.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.jpa.cache.videos-max-size:20000}")
+    private long videosMaxSize;
+
+    @Value("${app.jpa.cache.users-max-size:50000}")
+    private long usersMaxSize;
+
+    @Value("${app.jpa.cache.queries-max-size:1000}")
+    private long queriesMaxSize;
+
+    // Bounds how long a value loaded from a lagging replica, or a view count bumped by another node, can be served.
+    @Value("${app.jpa.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Bean
+    public HibernatePropertiesCustomizer batchingPropertiesCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+
+    /**
+     * Node-local, size-bounded second-level cache. Regions are declared up front so a misspelt region on an entity
+     * fails the boot instead of silently creating an unbounded cache. Cross-node eviction goes through the change log.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A unique URI keeps each application context, such as separate test contexts, on its own caches.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        createRegion(cacheManager, VIDEO_REGION, videosMaxSize, ttlSeconds);
+        createRegion(cacheManager, VIDEO_CATEGORIES_REGION, videosMaxSize, ttlSeconds);
+        createRegion(cacheManager, USER_REGION, usersMaxSize, ttlSeconds);
+        createRegion(cacheManager, QUERY_REGION, queriesMaxSize, ttlSeconds);
+        // Timestamps must outlive every cached query result, so this region is neither bounded nor expired.
+        createRegion(cacheManager, TIMESTAMPS_REGION, 0, 0);
+        return cacheManager;
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already stores disassembled copies, so JCache's default copy-on-read would only add serialization.
+        configuration.setStoreByValue(false);
+        if(maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if(ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCachePropertiesCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.cache.use_second_level_cache", true);
+            properties.putIfAbsent("hibernate.cache.use_query_cache", true);
+            properties.putIfAbsent("hibernate.cache.region.factory_class", "jcache");
+            properties.putIfAbsent("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.putIfAbsent("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.putIfAbsent("hibernate.generate_statistics", true);
+        };
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for(String region : List.of(VIDEO_REGION, VIDEO_CATEGORIES_REGION, USER_REGION)) {
+                Gauge.builder("hibernate.cache.hit.ratio", statistics, s -> {
+                    CacheRegionStatistics stats = s.getDomainDataRegionStatistics(region);
+                    return hitRatio(stats.getHitCount(), stats.getMissCount());
+                }).tag("region", region).register(registry);
+            }
+            Gauge.builder("hibernate.cache.hit.ratio", statistics, s -> hitRatio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+                    .tag("region", QUERY_REGION).register(registry);
+        };
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    // MySQL only sends a JDBC batch as one multi-row statement when the driver is told to rewrite it.
+    @Bean
+    public static BeanPostProcessor mysqlBatchRewritePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof HikariDataSource dataSource
+                        && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+                    dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
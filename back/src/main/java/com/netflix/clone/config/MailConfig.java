@@ -0,0 +1,33 @@
+package com.netflix.clone.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Properties;
+
+@Configuration
+public class MailConfig {
+
+    // JavaMail waits forever on connect, read and write by default; the outbox dispatcher would then hang with its
+    // claimed rows locked. Explicit spring.mail.properties values win.
+    @Bean
+    public static BeanPostProcessor mailTimeoutPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof JavaMailSenderImpl mailSender) {
+                    String timeout = environment.getProperty("app.mail.smtp.timeout-ms", "10000");
+                    String prefix = "mail." + mailSender.getProtocol() + ".";
+                    Properties properties = mailSender.getJavaMailProperties();
+                    properties.putIfAbsent(prefix + "connectiontimeout", timeout);
+                    properties.putIfAbsent(prefix + "timeout", timeout);
+                    properties.putIfAbsent(prefix + "writetimeout", timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
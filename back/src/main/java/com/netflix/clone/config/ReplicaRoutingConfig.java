@@ -0,0 +1,79 @@
+package com.netflix.clone.config;
+
+import com.netflix.clone.datasource.ReadYourWritesTracker;
+import com.netflix.clone.datasource.ReplicaPoolDataSource;
+import com.netflix.clone.datasource.ReplicaReadCacheBypass;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Only active when replica URLs are configured; otherwise Boot's single data source is used unchanged.
+ * Connections are fetched lazily, after the transaction has marked them read-only, so
+ * {@code @Transactional(readOnly = true)} work goes to {@link ReplicaPoolDataSource} and everything else to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${app.datasource.replicas.sticky-window-ms:5000}") long stickyWindowMs,
+                                                       @Value("${app.datasource.replicas.sticky-users:100000}") int maxUsers) {
+        return new ReadYourWritesTracker(stickyWindowMs, maxUsers);
+    }
+
+    @Bean
+    public ReplicaReadCacheBypass replicaReadCacheBypass(EntityManagerFactory entityManagerFactory) {
+        return new ReplicaReadCacheBypass(entityManagerFactory);
+    }
+
+    @Bean
+    public ReplicaPoolDataSource replicaPoolDataSource(HikariDataSource primaryDataSource, ReadYourWritesTracker readYourWritesTracker,
+                                                       DataSourceProperties properties, MeterRegistry meterRegistry,
+                                                       @Value("${app.datasource.replicas.urls}") String[] urls,
+                                                       @Value("${app.datasource.replicas.pool-size:10}") int poolSize,
+                                                       @Value("${app.datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                                                       @Value("${app.datasource.replicas.max-lag-ms:3000}") long maxLagMs) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for(int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setReadOnly(true);
+            // A replica that is down at startup is skipped until it passes a probe, rather than failing the boot.
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaPoolDataSource(primaryDataSource, replicas, readYourWritesTracker, maxLagMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPoolDataSource replicaPoolDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(replicaPoolDataSource);
+        return routing;
+    }
+}
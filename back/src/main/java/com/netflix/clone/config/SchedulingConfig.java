@@ -0,0 +1,30 @@
+package com.netflix.clone.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Boot's default is a single thread shared by every @Scheduled job, so one slow job would hold back the view,
+    // progress and history flushes, the replica heartbeat and the change-log poll queued behind it.
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder,
+                                                 @Value("${spring.task.scheduling.pool.size:4}") int poolSize) {
+        return builder.poolSize(poolSize).build();
+    }
+
+    // SMTP delivery blocks on a remote server, so it runs apart from the shared jobs. Selected by name in @Scheduled.
+    @Bean
+    public ThreadPoolTaskScheduler mailDispatchScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("mail-dispatch-");
+        return scheduler;
+    }
+}
@@ -1,26 +1,48 @@
 package com.netflix.clone.config;
 
 import com.netflix.clone.security.JwtAuthenticationFilter;
+import com.netflix.clone.security.MediaSignatureFilter;
+import com.netflix.clone.util.BcryptCalibrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    private MediaSignatureFilter mediaSignatureFilter;
+
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, MediaSignatureFilter mediaSignatureFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.mediaSignatureFilter = mediaSignatureFilter;
     }
 
     private static final String[] PUBLIC_ENDPOINTS = {
@@ -30,21 +52,49 @@ public class SecurityConfig {
             "/api/auth/verify-email",
             "/api/auth/resend-verification",
             "/api/auth/forgot-password",
-            "/api/auth/reset-password"
+            "/api/auth/reset-password",
+            "/api/auth/refresh",
+            "/api/auth/logout"
     };
 
+    private static final String[] MEDIA_ENDPOINTS = {
+            "/api/files/video/**",
+            "/api/files/image/**"
+    };
+
+    // Media is served either to a valid signed URL (checked by MediaSignatureFilter) or to a JWT-authenticated user.
+    private static final AuthorizationManager<RequestAuthorizationContext> SIGNED_OR_AUTHENTICATED = AuthorizationManagers.anyOf(
+            (authentication, context) -> new AuthorizationDecision(context.getRequest().getAttribute(MediaSignatureFilter.SIGNED_ATTRIBUTE) != null),
+            AuthenticatedAuthorizationManager.authenticated());
+
+    // New hashes use the configured encoder; unprefixed legacy plain-text passwords still match and are re-hashed on
+    // the next successful login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return NoOpPasswordEncoder.getInstance();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password.encoder:bcrypt}") String encoderId,
+                                           @Value("${app.security.password.target-hash-ms:250}") long targetHashMillis,
+                                           @Value("${app.security.password.min-strength:10}") int minStrength,
+                                           @Value("${app.security.password.max-strength:14}") int maxStrength) {
+        int strength = BcryptCalibrator.calibrate(targetHashMillis, minStrength, maxStrength);
+        logger.info("Password hashing calibrated to bcrypt strength {} for a {} ms target", strength, targetHashMillis);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(strength));
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("noop", NoOpPasswordEncoder.getInstance());
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoderId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(NoOpPasswordEncoder.getInstance());
+        return delegating;
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
                 .cors(cors -> {})
-                .authorizeHttpRequests(auth -> auth.requestMatchers(PUBLIC_ENDPOINTS)
-                        .permitAll().anyRequest().authenticated())
+                .authorizeHttpRequests(auth -> auth.requestMatchers(PUBLIC_ENDPOINTS).permitAll()
+                        .requestMatchers(HttpMethod.GET, MEDIA_ENDPOINTS).access(SIGNED_OR_AUTHENTICATED)
+                        .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(mediaSignatureFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -4,7 +4,11 @@ import com.netflix.clone.dto.request.*;
 import com.netflix.clone.dto.response.EmailValidationResponse;
 import com.netflix.clone.dto.response.LoginResponse;
 import com.netflix.clone.dto.response.MessageResponse;
+import com.netflix.clone.security.JwtAuthenticationFilter;
+import com.netflix.clone.security.LoginThrottle;
+import com.netflix.clone.security.VerifiedToken;
 import com.netflix.clone.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -16,8 +20,11 @@ public class AuthController {
 
     private AuthService authService;
 
-    public AuthController(AuthService authService) {
+    private LoginThrottle loginThrottle;
+
+    public AuthController(AuthService authService, LoginThrottle loginThrottle) {
         this.authService = authService;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/signup")
@@ -26,11 +33,23 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        LoginResponse response = authService.login(loginRequest.getEmail(), loginRequest.getPassword());
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        LoginResponse response = authService.login(loginRequest.getEmail(), loginRequest.getPassword(), loginThrottle.clientIp(request));
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        return ResponseEntity.ok(authService.refresh(refreshTokenRequest.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(@RequestAttribute(name = JwtAuthenticationFilter.TOKEN_ATTRIBUTE, required = false) VerifiedToken token,
+                                                  @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        String refreshToken = refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null;
+        return ResponseEntity.ok(authService.logout(token, refreshToken));
+    }
+
     @GetMapping("/validate-email")
     public ResponseEntity<EmailValidationResponse> validateEmail(@RequestParam String email) {
         return ResponseEntity.ok(authService.validateEmail(email));
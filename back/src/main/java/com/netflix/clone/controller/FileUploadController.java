@@ -1,5 +1,6 @@
 package com.netflix.clone.controller;
 
+import com.netflix.clone.security.MediaUrlSigner;
 import com.netflix.clone.service.FileUploadService;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
@@ -41,8 +42,9 @@ public class FileUploadController {
 
     @GetMapping("/video/{uuid}")
     public ResponseEntity<Resource> serveVideo(@PathVariable String uuid, @RequestHeader(value = "Range", required = false) String rangeHeader,
-                                               @RequestHeader(value = "token", required = false) String tokenParam) throws Exception {
-        return fileUploadService.serveVideo(uuid,rangeHeader);
+                                               @RequestHeader(value = "token", required = false) String tokenParam,
+                                               @RequestAttribute(value = MediaUrlSigner.VIEWER_ID_ATTRIBUTE, required = false) Long viewerId) throws Exception {
+        return fileUploadService.serveVideo(uuid, rangeHeader, viewerId);
     }
 
     @GetMapping("/image/{uuid}")
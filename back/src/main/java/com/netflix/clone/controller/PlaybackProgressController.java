@@ -0,0 +1,41 @@
+package com.netflix.clone.controller;
+
+import com.netflix.clone.dto.request.PlaybackProgressRequest;
+import com.netflix.clone.dto.response.ContinueWatchingResponse;
+import com.netflix.clone.dto.response.PlaybackProgressResponse;
+import com.netflix.clone.service.PlaybackProgressService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/progress")
+public class PlaybackProgressController {
+
+    private PlaybackProgressService playbackProgressService;
+
+    public PlaybackProgressController(PlaybackProgressService playbackProgressService) {
+        this.playbackProgressService = playbackProgressService;
+    }
+
+    @PutMapping("/{videoId}")
+    public ResponseEntity<Void> recordProgress(@PathVariable Long videoId, @Valid @RequestBody PlaybackProgressRequest request,
+                                               Authentication authentication) {
+        playbackProgressService.recordProgress(authentication.getName(), videoId, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{videoId}")
+    public ResponseEntity<PlaybackProgressResponse> getProgress(@PathVariable Long videoId, Authentication authentication) {
+        return ResponseEntity.ok(playbackProgressService.getProgress(authentication.getName(), videoId));
+    }
+
+    @GetMapping("/continue-watching")
+    public ResponseEntity<List<ContinueWatchingResponse>> getContinueWatching(@RequestParam(defaultValue = "12") int limit,
+                                                                             Authentication authentication) {
+        return ResponseEntity.ok(playbackProgressService.getContinueWatching(authentication.getName(), limit));
+    }
+}
@@ -0,0 +1,35 @@
+package com.netflix.clone.controller;
+
+import com.netflix.clone.dto.response.RecommendationResponse;
+import com.netflix.clone.dto.response.VideoResponse;
+import com.netflix.clone.service.RecommendationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recommendations")
+public class RecommendationController {
+
+    private RecommendationService recommendationService;
+
+    public RecommendationController(RecommendationService recommendationService) {
+        this.recommendationService = recommendationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecommendationResponse>> getRecommendations(@RequestParam(defaultValue = "20") int limit,
+                                                                           Authentication authentication) {
+        String email = authentication.getName();
+        return ResponseEntity.ok(recommendationService.getRecommendations(email, limit));
+    }
+
+    @GetMapping("/similar/{videoId}")
+    public ResponseEntity<List<VideoResponse>> getSimilarVideos(@PathVariable Long videoId,
+                                                                @RequestParam(defaultValue = "10") int limit,
+                                                                Authentication authentication) {
+        return ResponseEntity.ok(recommendationService.getSimilarVideos(videoId, authentication.getName(), limit));
+    }
+}
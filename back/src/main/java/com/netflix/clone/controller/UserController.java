@@ -5,6 +5,7 @@ import com.netflix.clone.dto.response.MessageResponse;
 import com.netflix.clone.dto.response.PageResponse;
 import com.netflix.clone.dto.response.UserResponse;
 import com.netflix.clone.service.UserService;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -22,12 +23,12 @@ public class UserController {
     }
 
     @PostMapping
-    public ResponseEntity<MessageResponse> createUser(@RequestBody UserRequest userRequest) {
+    public ResponseEntity<MessageResponse> createUser(@Valid @RequestBody UserRequest userRequest) {
         return ResponseEntity.ok(userService.createUser(userRequest));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<MessageResponse> updateUser(@PathVariable Long id, @RequestBody UserRequest userRequest) {
+    public ResponseEntity<MessageResponse> updateUser(@PathVariable Long id, @Valid @RequestBody UserRequest userRequest) {
         return ResponseEntity.ok(userService.updateUser(id,userRequest));
     }
 
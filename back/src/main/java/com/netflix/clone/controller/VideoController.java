@@ -1,27 +1,57 @@
 package com.netflix.clone.controller;
 
+import com.netflix.clone.cache.ContentVersionTracker;
+import com.netflix.clone.dto.request.BulkPublishRequest;
 import com.netflix.clone.dto.request.VideoRequest;
+import com.netflix.clone.dto.response.BulkImportResponse;
+import com.netflix.clone.dto.response.HomeFeedResponse;
 import com.netflix.clone.dto.response.MessageResponse;
 import com.netflix.clone.dto.response.PageResponse;
 import com.netflix.clone.dto.response.VideoResponse;
 import com.netflix.clone.dto.response.VideoStatsResponse;
+import com.netflix.clone.dto.response.VideoSuggestionResponse;
+import com.netflix.clone.service.HomeFeedService;
 import com.netflix.clone.service.VideoService;
+import com.netflix.clone.service.VideoSuggestionService;
+import com.netflix.clone.service.ViewTrackingService;
+import com.netflix.clone.util.MediaUrlUtils;
+import com.netflix.clone.util.VideoImportReader;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/videos")
 public class VideoController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private VideoService videoService;
 
-    public VideoController(VideoService videoService) {
+    private VideoSuggestionService videoSuggestionService;
+
+    private HomeFeedService homeFeedService;
+
+    private ContentVersionTracker contentVersionTracker;
+
+    private ViewTrackingService viewTrackingService;
+
+    public VideoController(VideoService videoService, VideoSuggestionService videoSuggestionService, HomeFeedService homeFeedService,
+                           ContentVersionTracker contentVersionTracker, ViewTrackingService viewTrackingService) {
         this.videoService = videoService;
+        this.videoSuggestionService = videoSuggestionService;
+        this.homeFeedService = homeFeedService;
+        this.contentVersionTracker = contentVersionTracker;
+        this.viewTrackingService = viewTrackingService;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -56,6 +86,18 @@ public class VideoController {
         return ResponseEntity.ok(videoService.toggleVideoPublishStatusByAdmin(id, value));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/admin/import", consumes = {VideoImportReader.NDJSON, VideoImportReader.CSV})
+    public ResponseEntity<BulkImportResponse> importVideosByAdmin(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        return ResponseEntity.ok(videoService.importVideosByAdmin(body, contentType));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/admin/publish")
+    public ResponseEntity<MessageResponse> bulkUpdatePublishStatusByAdmin(@Valid @RequestBody BulkPublishRequest bulkPublishRequest) {
+        return ResponseEntity.ok(videoService.bulkUpdatePublishStatusByAdmin(bulkPublishRequest));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/stats")
     public ResponseEntity<VideoStatsResponse> getAdminState() {
@@ -67,16 +109,48 @@ public class VideoController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
-            Authentication authentication
+            Authentication authentication,
+            WebRequest webRequest
     ) {
         String email = authentication.getName();
+        // Search falls back to the fuzzy index, which catches up with a catalog change only after the next rebuild, so
+        // a tag taken from the committed catalog version could pin stale hits. Search results go out without one.
+        if(search != null && !search.isBlank()) {
+            return ResponseEntity.ok(videoService.getPublishedVideos(page, size, search, email));
+        }
+        String eTag = contentVersionTracker.userCatalogETag(email, MediaUrlUtils.signingVersion());
+        if(webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
         PageResponse<VideoResponse> response = videoService.getPublishedVideos(page, size, search, email);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(response);
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<List<VideoResponse>> getFeaturedVideos() {
-        List<VideoResponse> response = videoService.getFeaturedVideos();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<VideoResponse>> getFeaturedVideos(Authentication authentication, WebRequest webRequest) {
+        String email = authentication.getName();
+        String eTag = contentVersionTracker.userCatalogETag(email, MediaUrlUtils.signingVersion(), viewTrackingService.trendingVersion());
+        if(webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        List<VideoResponse> response = videoService.getFeaturedVideos(email);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(response);
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<VideoResponse>> getTrendingVideos(@RequestParam(defaultValue = "20") int limit,
+                                                                 Authentication authentication) {
+        return ResponseEntity.ok(viewTrackingService.getTrendingVideos(authentication.getName(), limit));
+    }
+
+    @GetMapping("/home")
+    public ResponseEntity<HomeFeedResponse> getHomeFeed(Authentication authentication) {
+        return ResponseEntity.ok(homeFeedService.getHomeFeed(authentication.getName()));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<VideoSuggestionResponse>> suggestVideos(@RequestParam String q,
+                                                                       @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(videoSuggestionService.suggest(q, limit));
     }
 }
@@ -1,23 +1,37 @@
 package com.netflix.clone.controller;
 
+import com.netflix.clone.cache.ContentVersionTracker;
+import com.netflix.clone.dto.request.WatchlistBatchRequest;
+import com.netflix.clone.dto.response.CursorPageResponse;
 import com.netflix.clone.dto.response.MessageResponse;
 import com.netflix.clone.dto.response.PageResponse;
 import com.netflix.clone.dto.response.VideoResponse;
+import com.netflix.clone.dto.response.WatchlistBatchResponse;
 import com.netflix.clone.entity.Video;
 import com.netflix.clone.service.WatchlistService;
+import com.netflix.clone.util.MediaUrlUtils;
+import jakarta.validation.Valid;
 import org.apache.coyote.Response;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/watchlist")
 public class WatchlistController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private WatchlistService watchlistService;
 
-    public WatchlistController(WatchlistService watchlistService) {
+    private ContentVersionTracker contentVersionTracker;
+
+    public WatchlistController(WatchlistService watchlistService, ContentVersionTracker contentVersionTracker) {
         this.watchlistService = watchlistService;
+        this.contentVersionTracker = contentVersionTracker;
     }
 
     @PostMapping("/{videoId}")
@@ -32,16 +46,33 @@ public class WatchlistController {
         return ResponseEntity.ok(watchlistService.removeFromWatchlist(email, videoId));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<WatchlistBatchResponse> applyBatch(@Valid @RequestBody WatchlistBatchRequest request, Authentication authentication) {
+        return ResponseEntity.ok(watchlistService.applyBatch(authentication.getName(), request));
+    }
+
+    @GetMapping("/recent")
+    public ResponseEntity<CursorPageResponse<VideoResponse>> getRecentWatchlist(@RequestParam(required = false) String cursor,
+                                                                                @RequestParam(defaultValue = "20") int size,
+                                                                                Authentication authentication) {
+        return ResponseEntity.ok(watchlistService.getRecentWatchlist(authentication.getName(), cursor, size));
+    }
+
     @GetMapping
     public ResponseEntity<PageResponse<VideoResponse>> getWatchlist(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         String email = authentication.getName();
+        String eTag = contentVersionTracker.userCatalogETag(email, MediaUrlUtils.signingVersion());
+        if(webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
 
         PageResponse<VideoResponse> response = watchlistService.getWatchlistPaginated(email, page, size, search);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(response);
     }
 }
@@ -0,0 +1,31 @@
+package com.netflix.clone.dao;
+
+import com.netflix.clone.entity.AuthToken;
+import com.netflix.clone.enums.AuthTokenPurpose;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface AuthTokenRepository extends JpaRepository<AuthToken, Long> {
+    Optional<AuthToken> findByTokenHashAndPurpose(String tokenHash, AuthTokenPurpose purpose);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AuthToken t WHERE t.userId = :userId AND t.purpose = :purpose")
+    int deleteByUserIdAndPurpose(@Param("userId") Long userId, @Param("purpose") AuthTokenPurpose purpose);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AuthToken t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT t.id FROM AuthToken t WHERE t.expiresAt < :cutoff ORDER BY t.expiresAt")
+    List<Long> findExpiredIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+}
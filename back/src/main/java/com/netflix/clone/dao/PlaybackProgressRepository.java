@@ -0,0 +1,20 @@
+package com.netflix.clone.dao;
+
+import com.netflix.clone.entity.PlaybackProgress;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface PlaybackProgressRepository extends JpaRepository<PlaybackProgress, Long> {
+    List<PlaybackProgress> findByUserIdOrderByUpdatedAtDesc(Long userId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PlaybackProgress p WHERE p.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
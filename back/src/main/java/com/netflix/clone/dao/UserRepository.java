@@ -1,14 +1,20 @@
 package com.netflix.clone.dao;
 
+import com.netflix.clone.cache.UserSnapshot;
 import com.netflix.clone.entity.User;
 import com.netflix.clone.entity.Video;
 import com.netflix.clone.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -18,9 +24,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    Optional<User> findByVerificationToken(String verificationToken);
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
 
-    Optional<User> findByPasswordResetToken(String passwordResetToken);
+    @Query("SELECT new com.netflix.clone.cache.UserSnapshot(u.id, u.email, u.fullName, u.role, u.active, u.emailVerified) FROM User u WHERE u.email = :email")
+    Optional<UserSnapshot> findSnapshotByEmail(@Param("email") String email);
+
+    @Query("SELECT u.id, u.tokenEpoch FROM User u WHERE u.tokenEpoch > 0")
+    List<Object[]> findTokenEpochs();
+
+    @Query("SELECT u.email, u.id FROM User u WHERE u.email IN :emails")
+    List<Object[]> findIdsByEmails(@Param("emails") Collection<String> emails);
 
     long countByRoleAndActive(Role role, boolean active);
 
@@ -29,8 +43,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     long countByRole(Role role);
 
-    @Query("SELECT v.id FROM User u JOIN u.watchlist v WHERE u.email = :email AND v.id IN :videoIds")
-    Set<Long> findWatchlistVideoIds(@Param("email") String email, @Param("videoIds") List<Long> videoIds);
+    @Query("SELECT u.id, u.fullName, u.email FROM User u")
+    List<Object[]> findAllSearchableFields();
+
+    @Query("SELECT v.id FROM User u JOIN u.watchlist v WHERE u.email = :email")
+    Set<Long> findAllWatchlistVideoIds(@Param("email") String email);
 
     @Query("SELECT v FROM User u " +
             "JOIN u.watchlist v " +
@@ -40,6 +57,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "OR LOWER(v.description) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Video> searchWatchlistByUserId(@Param("userId") Long userId, @Param("search") String search, Pageable pageable);
 
-    @Query("SELECT v FROM User u JOIN u.watchlist v WHERE u.id = :userId AND v.published = true")
-    Page<Video> findWatchlistByUserId(Long userId, Pageable pageable);
+    // Without declared spaces a native write evicts every second-level cache region.
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_watchlist (user_id, video_id) VALUES (:userId, :videoId)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_watchlist"))
+    int insertWatchlistEntry(@Param("userId") Long userId, @Param("videoId") Long videoId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_watchlist WHERE user_id = :userId AND video_id = :videoId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_watchlist"))
+    int deleteWatchlistEntry(@Param("userId") Long userId, @Param("videoId") Long videoId);
+
+    @Query("SELECT v.id, COUNT(u) FROM User u JOIN u.watchlist v GROUP BY v.id")
+    List<Object[]> countWatchlistSavesPerVideo();
 }
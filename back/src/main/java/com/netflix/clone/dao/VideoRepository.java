@@ -1,13 +1,20 @@
 package com.netflix.clone.dao;
 
 import com.netflix.clone.entity.Video;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface VideoRepository extends JpaRepository<Video, Long> {
 
@@ -16,16 +23,23 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
     + "LOWER(v.description) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Video> searchVideos(@Param("search") String search, Pageable pageable);
 
+    // Admin stats counts are served from the query cache until a video write invalidates the videos table.
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    long count();
+
     @Query("SELECT COUNT(v) FROM Video v WHERE v.published = true")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     long countPublishedVideos();
 
     @Query("SELECT COALESCE(SUM(v.duration), 0) FROM Video v")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     long getTotalDuration();
 
     @Query("SELECT v FROM Video v WHERE v.published = true AND ("
     + "LOWER(v.title) LIKE LOWER(CONCAT('%', :search, '%')) OR "
     + "LOWER(v.description) LIKE LOWER(CONCAT('%', :search, '%'))) "
-    + "ORDER BY v.createdAt DESC")
+    + "ORDER BY v.viewCount DESC, v.createdAt DESC")
     Page<Video> searchPublishedVideos(@Param("search") String search, Pageable pageable);
 
     @Query("SELECT v FROM Video v WHERE v.published = true ORDER BY v.createdAt DESC")
@@ -33,4 +47,26 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
 
     @Query("SELECT v FROM Video v WHERE v.published = true ORDER BY FUNCTION('RAND')")
     List<Video> findRandomPublishedVideos(Pageable pageable);
+
+    @Query("SELECT c FROM Video v JOIN v.categories c WHERE v.published = true GROUP BY c ORDER BY COUNT(v) DESC")
+    List<String> findTopPublishedCategories(Pageable pageable);
+
+    @Query("SELECT v FROM Video v JOIN v.categories c WHERE v.published = true AND c = :category ORDER BY v.createdAt DESC")
+    List<Video> findPublishedVideosByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query("SELECT v.id, v.title, v.posterUuid, v.viewCount FROM Video v WHERE v.published = true")
+    List<Object[]> findPublishedTitles();
+
+    @Query("SELECT v FROM Video v WHERE v.published = true AND v.id IN :ids")
+    List<Video> findPublishedByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT v.id FROM Video v WHERE v.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT v.id, v.srcUuid FROM Video v WHERE v.srcUuid IN :srcUuids")
+    List<Object[]> findIdsBySrcUuids(@Param("srcUuids") Collection<String> srcUuids);
+
+    @Modifying
+    @Query("UPDATE Video v SET v.published = :published, v.updatedAt = :updatedAt WHERE v.id IN :ids")
+    int updatePublishedByIds(@Param("ids") List<Long> ids, @Param("published") boolean published, @Param("updatedAt") Instant updatedAt);
 }
@@ -0,0 +1,36 @@
+package com.netflix.clone.dao;
+
+import com.netflix.clone.entity.Video;
+import com.netflix.clone.entity.WatchlistEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface WatchlistEntryRepository extends JpaRepository<WatchlistEntry, WatchlistEntry.Key> {
+    @Query("SELECT w.id.videoId FROM WatchlistEntry w WHERE w.id.userId = :userId AND w.id.videoId IN :videoIds")
+    Set<Long> findSavedVideoIds(@Param("userId") Long userId, @Param("videoIds") Collection<Long> videoIds);
+
+    @Query(value = "SELECT v FROM WatchlistEntry w JOIN Video v ON v.id = w.id.videoId "
+            + "WHERE w.id.userId = :userId AND v.published = true ORDER BY w.addedAt DESC, w.id.videoId DESC",
+            countQuery = "SELECT COUNT(w) FROM WatchlistEntry w JOIN Video v ON v.id = w.id.videoId "
+            + "WHERE w.id.userId = :userId AND v.published = true")
+    Page<Video> findRecentByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT v, w.addedAt FROM WatchlistEntry w JOIN Video v ON v.id = w.id.videoId "
+            + "WHERE w.id.userId = :userId AND v.published = true ORDER BY w.addedAt DESC, w.id.videoId DESC")
+    List<Object[]> findFirstKeysetPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT v, w.addedAt FROM WatchlistEntry w JOIN Video v ON v.id = w.id.videoId "
+            + "WHERE w.id.userId = :userId AND v.published = true "
+            + "AND (w.addedAt < :addedAt OR (w.addedAt = :addedAt AND w.id.videoId < :videoId)) "
+            + "ORDER BY w.addedAt DESC, w.id.videoId DESC")
+    List<Object[]> findKeysetPageAfter(@Param("userId") Long userId, @Param("addedAt") Instant addedAt, @Param("videoId") Long videoId,
+                                       Pageable pageable);
+}
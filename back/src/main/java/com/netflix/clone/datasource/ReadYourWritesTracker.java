@@ -0,0 +1,60 @@
+package com.netflix.clone.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers when each user last committed a read-write transaction, so their reads stay on the primary until replicas
+ * have had time to apply the change. Registered with the transaction manager as an execution listener.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Map<String, Long> lastWrites;
+
+    private final long stickyWindowMillis;
+
+    public ReadYourWritesTracker(long stickyWindowMillis, int maxUsers) {
+        this.stickyWindowMillis = stickyWindowMillis;
+        this.lastWrites = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if(commitFailure != null || !transaction.isNewTransaction() || transaction.isReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if(user != null) {
+            lastWrites.put(user, System.currentTimeMillis());
+        }
+    }
+
+    public boolean mustReadPrimary() {
+        String user = currentUser();
+        if(user == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(user);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < stickyWindowMillis;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if(authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
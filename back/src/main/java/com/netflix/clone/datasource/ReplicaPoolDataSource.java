@@ -0,0 +1,131 @@
+package com.netflix.clone.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only connections from a pool of replicas, round-robin over those that answered the last probe within the lag
+ * limit. Lag is measured from a heartbeat row this node writes to the primary and reads back from each replica.
+ * Reads fall back to the primary when the current user has just written, or when no replica is usable.
+ */
+public class ReplicaPoolDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPoolDataSource.class);
+
+    private static final String WRITE_HEARTBEAT = "UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1";
+    private static final String READ_HEARTBEAT = "SELECT beat_millis FROM replica_heartbeat WHERE id = 1";
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean up;
+        private volatile long lagMillis = -1;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaPoolDataSource(DataSource primary, Map<String, DataSource> replicas, ReadYourWritesTracker readYourWritesTracker,
+                                 long maxLagMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(entry -> new Replica(entry.getKey(), entry.getValue())).toList();
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLagMillis = maxLagMillis;
+        this.replicaReads = Counter.builder("db.reads").tag("target", "replica").register(meterRegistry);
+        this.primaryReads = Counter.builder("db.reads").tag("target", "primary").register(meterRegistry);
+        for(Replica replica : this.replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMillis).tag("replica", replica.name).baseUnit("milliseconds").register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if(!readYourWritesTracker.mustReadPrimary()) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+            for(int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if(!replica.up || replica.lagMillis > maxLagMillis) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException ex) {
+                    replica.up = false;
+                    logger.warn("Replica {} is unreachable, reading from the next one: {}", replica.name, ex.getMessage());
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    public void close() throws Exception {
+        for(Replica replica : replicas) {
+            if(replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.heartbeat-interval-ms:1000}")
+    public void writeHeartbeat() {
+        try(Connection connection = primary.getConnection();
+            PreparedStatement statement = connection.prepareStatement(WRITE_HEARTBEAT)) {
+            statement.setLong(1, System.currentTimeMillis());
+            statement.executeUpdate();
+        } catch (SQLException ex) {
+            logger.warn("Could not write replica heartbeat: {}", ex.getMessage());
+        }
+    }
+
+    // The lag includes up to one heartbeat interval of staleness, so the limit should be comfortably above it.
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.probe-interval-ms:1000}")
+    public void probe() {
+        for(Replica replica : replicas) {
+            try(Connection connection = replica.dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(READ_HEARTBEAT);
+                ResultSet resultSet = statement.executeQuery()) {
+                replica.lagMillis = resultSet.next() ? Math.max(0, System.currentTimeMillis() - resultSet.getLong(1)) : Long.MAX_VALUE;
+                replica.up = true;
+            } catch (SQLException ex) {
+                if(replica.up) {
+                    logger.warn("Replica {} failed its health probe: {}", replica.name, ex.getMessage());
+                }
+                replica.up = false;
+                replica.lagMillis = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.netflix.clone.datasource;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Read-only transactions may read from a lagging replica, so what they load must not land in the second-level cache,
+ * where it would outlive an eviction that already happened. Cache hits are still served; only stores are skipped.
+ * Query cache entries are not covered: Hibernate stores a query-cache miss even in GET mode, and those entries are
+ * invalidated by the next write to the tables they read.
+ * Registered with the transaction manager as an execution listener, alongside {@link ReadYourWritesTracker}.
+ */
+public class ReplicaReadCacheBypass implements TransactionExecutionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReplicaReadCacheBypass(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if(beginFailure == null && appliesTo(transaction)) {
+            setStoreMode(CacheStoreMode.BYPASS);
+        }
+    }
+
+    // An open-in-view EntityManager outlives the transaction, so later read-write work in the request must store again.
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if(appliesTo(transaction)) {
+            setStoreMode(CacheStoreMode.USE);
+        }
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        if(appliesTo(transaction)) {
+            setStoreMode(CacheStoreMode.USE);
+        }
+    }
+
+    private static boolean appliesTo(TransactionExecution transaction) {
+        return transaction.isNewTransaction() && transaction.isReadOnly();
+    }
+
+    private void setStoreMode(CacheStoreMode storeMode) {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if(entityManager != null) {
+            // find() reads the store mode from the EntityManager properties, collection and lazy loads from the Session's.
+            entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, storeMode);
+            entityManager.unwrap(Session.class).setCacheStoreMode(storeMode);
+        }
+    }
+}
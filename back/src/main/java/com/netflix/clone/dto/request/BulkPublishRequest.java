@@ -0,0 +1,17 @@
+package com.netflix.clone.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkPublishRequest {
+
+    @NotEmpty(message = "At least one video id is required")
+    @Size(max = 10000, message = "At most 10000 videos can be updated at once")
+    private List<Long> ids;
+
+    private boolean published;
+}
@@ -1,5 +1,7 @@
 package com.netflix.clone.dto.request;
 
+import com.netflix.clone.security.PasswordHasher;
+import com.netflix.clone.validation.MaxBytes;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
@@ -10,5 +12,6 @@ public class ChangePasswordRequest {
     private String currentPassword;
 
     @NotBlank(message = "New Password is required")
+    @MaxBytes(value = PasswordHasher.MAX_PASSWORD_BYTES, message = "New password must be at most 72 bytes")
     private String newPassword;
 }
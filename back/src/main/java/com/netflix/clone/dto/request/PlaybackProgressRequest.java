@@ -0,0 +1,18 @@
+package com.netflix.clone.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PlaybackProgressRequest {
+
+    @NotNull(message = "Position is required")
+    @Min(value = 0, message = "Position must not be negative")
+    private Integer positionSeconds;
+
+    @Min(value = 0, message = "Duration must not be negative")
+    private Integer durationSeconds;
+
+    private boolean stopped;
+}
@@ -1,5 +1,7 @@
 package com.netflix.clone.dto.request;
 
+import com.netflix.clone.security.PasswordHasher;
+import com.netflix.clone.validation.MaxBytes;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -12,5 +14,6 @@ public class ResetPasswordRequest {
 
     @NotBlank
     @Size(min = 6, message = "New password must be at lease 6 characters long")
+    @MaxBytes(value = PasswordHasher.MAX_PASSWORD_BYTES, message = "New password must be at most 72 bytes")
     private String newPassword;
 }
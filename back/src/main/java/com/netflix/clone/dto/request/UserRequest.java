@@ -1,11 +1,14 @@
 package com.netflix.clone.dto.request;
 
+import com.netflix.clone.security.PasswordHasher;
+import com.netflix.clone.validation.MaxBytes;
 import lombok.Data;
 
 @Data
 public class UserRequest {
 
     private String email;
+    @MaxBytes(value = PasswordHasher.MAX_PASSWORD_BYTES, message = "Password must be at most 72 bytes")
     private String password;
     private String fullName;
     private String role;
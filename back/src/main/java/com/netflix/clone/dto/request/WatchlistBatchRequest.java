@@ -0,0 +1,17 @@
+package com.netflix.clone.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class WatchlistBatchRequest {
+
+    @Size(max = 500, message = "At most 500 videos can be added at once")
+    private List<Long> add = new ArrayList<>();
+
+    @Size(max = 500, message = "At most 500 videos can be removed at once")
+    private List<Long> remove = new ArrayList<>();
+}
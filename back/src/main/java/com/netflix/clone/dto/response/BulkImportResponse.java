@@ -0,0 +1,19 @@
+package com.netflix.clone.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportResponse {
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,16 @@
+package com.netflix.clone.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryRowResponse {
+
+    private String category;
+    private List<VideoResponse> videos;
+}
@@ -0,0 +1,24 @@
+package com.netflix.clone.dto.response;
+
+import com.netflix.clone.service.PlaybackProgressService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContinueWatchingResponse {
+
+    private VideoResponse video;
+    private int positionSeconds;
+    private Integer durationSeconds;
+    private Instant updatedAt;
+
+    public static ContinueWatchingResponse fromResumePoint(PlaybackProgressService.ResumePoint resumePoint) {
+        return new ContinueWatchingResponse(VideoResponse.fromEntity(resumePoint.video()), resumePoint.progress().getPositionSeconds(),
+                resumePoint.progress().getDurationSeconds(), resumePoint.progress().getUpdatedAt());
+    }
+}
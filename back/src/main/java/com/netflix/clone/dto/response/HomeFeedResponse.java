@@ -0,0 +1,19 @@
+package com.netflix.clone.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HomeFeedResponse {
+
+    private List<VideoResponse> featured;
+    private List<ContinueWatchingResponse> continueWatching;
+    private List<VideoResponse> latest;
+    private List<CategoryRowResponse> categoryRows;
+    private List<String> unavailableSections;
+}
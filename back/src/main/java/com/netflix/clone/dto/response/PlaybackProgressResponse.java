@@ -0,0 +1,24 @@
+package com.netflix.clone.dto.response;
+
+import com.netflix.clone.entity.PlaybackProgress;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlaybackProgressResponse {
+
+    private Long videoId;
+    private int positionSeconds;
+    private Integer durationSeconds;
+    private Instant updatedAt;
+
+    public static PlaybackProgressResponse fromEntity(PlaybackProgress progress) {
+        return new PlaybackProgressResponse(progress.getVideoId(), progress.getPositionSeconds(), progress.getDurationSeconds(),
+                progress.getUpdatedAt());
+    }
+}
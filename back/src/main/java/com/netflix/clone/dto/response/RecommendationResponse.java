@@ -0,0 +1,16 @@
+package com.netflix.clone.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecommendationResponse {
+
+    private VideoResponse video;
+    private Long becauseYouSavedId;
+    private String becauseYouSavedTitle;
+    private double score;
+}
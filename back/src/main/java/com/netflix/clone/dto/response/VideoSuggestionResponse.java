@@ -0,0 +1,21 @@
+package com.netflix.clone.dto.response;
+
+import com.netflix.clone.util.MediaUrlUtils;
+import com.netflix.clone.util.TitlePrefixIndex;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoSuggestionResponse {
+
+    private Long id;
+    private String title;
+    private String poster;
+
+    public static VideoSuggestionResponse fromSuggestion(TitlePrefixIndex.Suggestion suggestion) {
+        return new VideoSuggestionResponse(suggestion.id(), suggestion.title(), MediaUrlUtils.imageUrl(suggestion.posterUuid()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.netflix.clone.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WatchlistBatchResponse {
+
+    private List<Long> added;
+    private List<Long> removed;
+    private List<Long> notFound;
+}
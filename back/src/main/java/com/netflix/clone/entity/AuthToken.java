@@ -0,0 +1,41 @@
+package com.netflix.clone.entity;
+
+import com.netflix.clone.enums.AuthTokenPurpose;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+// One-time email verification and password reset tokens. Only the SHA-256 of the emailed value is stored.
+@Entity
+@Table(name = "auth_tokens", indexes = {
+        @Index(name = "idx_auth_tokens_user_purpose", columnList = "user_id, purpose"),
+        @Index(name = "idx_auth_tokens_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+public class AuthToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AuthTokenPurpose purpose;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,45 @@
+package com.netflix.clone.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "playback_progress",
+        uniqueConstraints = @UniqueConstraint(name = "uk_playback_progress_user_video", columnNames = {"user_id", "video_id"}),
+        indexes = @Index(name = "idx_playback_progress_user_updated", columnList = "user_id, updated_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PlaybackProgress {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Column(name = "position_seconds", nullable = false)
+    private int positionSeconds;
+
+    @Column(name = "duration_seconds")
+    private Integer durationSeconds;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public PlaybackProgress(Long userId, Long videoId, int positionSeconds, Integer durationSeconds, Instant updatedAt) {
+        this.userId = userId;
+        this.videoId = videoId;
+        this.positionSeconds = positionSeconds;
+        this.durationSeconds = durationSeconds;
+        this.updatedAt = updatedAt;
+    }
+}
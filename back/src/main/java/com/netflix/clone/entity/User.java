@@ -6,6 +6,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +17,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Getter
 @Setter
 @ToString
@@ -43,17 +47,9 @@ public class User {
     @Column(nullable = false)
     private boolean emailVerified = false;
 
-    @Column(unique = true)
-    private String verificationToken;
-
-    @Column
-    private Instant verificationTokenExpiry;
-
-    @Column
-    private String passwordResetToken;
-
-    @Column
-    private Instant passwordResetTokenExpiry;
+    // Bumped to revoke every access token issued so far; tokens carry the epoch they were issued under.
+    @Column(name = "token_epoch", nullable = false, columnDefinition = "int default 0 not null")
+    private int tokenEpoch;
 
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
@@ -2,12 +2,14 @@ package com.netflix.clone.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.netflix.clone.util.MediaUrlUtils;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -15,12 +17,15 @@ import java.util.List;
 
 @Entity
 @Table(name = "videos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "videos")
 @Getter
 @Setter
 public class Video {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "video_seq")
+    @SequenceGenerator(name = "video_seq", sequenceName = "video_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -46,7 +51,12 @@ public class Video {
     @Column(nullable = false)
     private boolean published = false;
 
+    @JsonIgnore
+    @Column(name = "view_count", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long viewCount;
+
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "video-categories")
     @CollectionTable(name = "video_categories", joinColumns = @JoinColumn(name = "video_id"))
     @Column(name = "category")
     private List<String> categories = new ArrayList<>();
@@ -65,19 +75,11 @@ public class Video {
 
     @JsonProperty("src")
     public String getSrc() {
-        if(srcUuid != null && !srcUuid.isEmpty()) {
-            String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
-            return baseUrl + "/api/files/video/" + srcUuid;
-        }
-        return null;
+        return MediaUrlUtils.videoUrl(srcUuid);
     }
 
     @JsonProperty("poster")
     public String getPoster() {
-        if(posterUuid != null && !posterUuid.isEmpty()) {
-            String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
-            return baseUrl + "/api/files/image/" + posterUuid;
-        }
-        return null;
+        return MediaUrlUtils.imageUrl(posterUuid);
     }
 }
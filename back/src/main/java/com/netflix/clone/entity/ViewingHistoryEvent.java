@@ -0,0 +1,36 @@
+package com.netflix.clone.entity;
+
+import com.netflix.clone.enums.ViewingEventType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Append-only: rows are written in batches by the history writer and never updated.
+@Entity
+@Table(name = "viewing_history", indexes = @Index(name = "idx_viewing_history_user_occurred", columnList = "user_id, occurred_at"))
+@Getter
+@Setter
+public class ViewingHistoryEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private ViewingEventType eventType;
+
+    @Column(name = "position_seconds")
+    private Integer positionSeconds;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+}
@@ -0,0 +1,42 @@
+package com.netflix.clone.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+// Read-side mapping of the user_watchlist join table behind User.watchlist; rows are written with plain SQL and
+// added_at is filled in by the database.
+@Entity
+@Table(name = "user_watchlist", indexes = @Index(name = "idx_user_watchlist_user_added", columnList = "user_id, added_at, video_id"))
+@Getter
+@Setter
+public class WatchlistEntry {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "added_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "timestamp(6) default current_timestamp(6) not null")
+    private Instant addedAt;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "user_id")
+        private Long userId;
+
+        @Column(name = "video_id")
+        private Long videoId;
+    }
+}
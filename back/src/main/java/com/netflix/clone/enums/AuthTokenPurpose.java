@@ -0,0 +1,6 @@
+package com.netflix.clone.enums;
+
+public enum AuthTokenPurpose {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
@@ -0,0 +1,9 @@
+package com.netflix.clone.enums;
+
+public enum ChangeLogEntity {
+    USER,
+    WATCHLIST,
+    CATALOG,
+    USER_TOKENS,
+    ACCESS_TOKEN
+}
@@ -0,0 +1,6 @@
+package com.netflix.clone.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    FAILED
+}
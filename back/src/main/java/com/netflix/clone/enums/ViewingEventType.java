@@ -0,0 +1,6 @@
+package com.netflix.clone.enums;
+
+public enum ViewingEventType {
+    PLAY_START,
+    PLAY_STOP
+}
@@ -18,47 +18,50 @@ import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final JwtUtil jwtUtil;
+    public static final String TOKEN_ATTRIBUTE = "com.netflix.clone.security.JwtAuthenticationFilter.token";
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final TokenRevocationRegistry revocationRegistry;
+
+    private final MediaUrlSigner mediaUrlSigner;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache, TokenRevocationRegistry revocationRegistry, MediaUrlSigner mediaUrlSigner) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationRegistry = revocationRegistry;
+        this.mediaUrlSigner = mediaUrlSigner;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String jwt = extractJwtToken(request);
-        String username = null;
-        if(jwt != null) {
-            username = jwtUtil.getUsernameFromToken(jwt);
-        }
 
-        if(shouldProcessAuthentication(username)) {
-            processAuthentication(request, jwt, username);
+        if(jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken token = verifiedTokenCache.verify(jwt);
+            if(token != null && token.subject() != null && !revocationRegistry.isRevoked(token)) {
+                setAuthenticationInContext(request, createUserDetailFromToken(token));
+                request.setAttribute(TOKEN_ATTRIBUTE, token);
+                if(token.userId() != null) {
+                    request.setAttribute(MediaUrlSigner.VIEWER_ID_ATTRIBUTE, token.userId());
+                    request.setAttribute(MediaUrlSigner.GRANT_ATTRIBUTE, mediaUrlSigner.grantFor(token.userId(), token.epoch()));
+                }
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
-    private void processAuthentication(HttpServletRequest request, String jwt, String username) {
-        if(jwtUtil.validateToken(jwt)) {
-            UserDetails userDetails = createUserDetailFromToken(jwt, username);
-            setAuthenticationInContext(request, userDetails);
-        }
-    }
-
     private void setAuthenticationInContext(HttpServletRequest request, UserDetails userDetails) {
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
         authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
     }
 
-    private UserDetails createUserDetailFromToken(String jwt, String username) {
-        String role = jwtUtil.getRoleFromToken(jwt);
-
+    private UserDetails createUserDetailFromToken(VerifiedToken token) {
         return User.builder()
-                .username(username)
+                .username(token.subject())
                 .password("")
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)))
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + token.role())))
                 .build();
     }
 
@@ -75,8 +78,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-
-    private boolean shouldProcessAuthentication(String username) {
-        return username != null && SecurityContextHolder.getContext().getAuthentication() == null;
-    }
 }
@@ -1,8 +1,11 @@
 package com.netflix.clone.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -10,18 +13,49 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    private static final long JWT_TOKEN_VALIDITY = 30L * 24 * 60 * 60 * 1000;
-
     @Value("${jwt.secret:defaultSecretKeyForNetFlixClonedefaultSecretKeyForNetFlixClone}")
     private String secret;
 
+    // Access tokens are short-lived; sessions are extended through refresh tokens instead.
+    @Value("${app.jwt.access-token-minutes:15}")
+    private long accessTokenMinutes;
+
+    private SecretKey signingKey;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns the claims the filter needs, or null for any invalid token.
+     */
+    public VerifiedToken verify(String token) {
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            Date expiration = claims.getExpiration();
+            if(expiration == null) {
+                return null;
+            }
+            Integer epoch = claims.get("ep", Integer.class);
+            return new VerifiedToken(claims.getSubject(), claims.get("role", String.class), claims.get("uid", Long.class),
+                    claims.getId(), epoch != null ? epoch : 0, expiration.toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public String getUsernameFromToken(String token) {
@@ -42,31 +76,24 @@ public class JwtUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-
-    public String generateToken(String username, String role) {
+    public String generateToken(String username, String role, Long userId, int epoch) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
+        claims.put("uid", userId);
+        claims.put("ep", epoch);
         return doGenerateToken(claims, username);
     }
 
     private String doGenerateToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder().claims(claims).subject(subject).issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY)).signWith(getSigningKey()).compact();
+        long now = System.currentTimeMillis();
+        return Jwts.builder().claims(claims).subject(subject).id(UUID.randomUUID().toString()).issuedAt(new Date(now))
+                .expiration(new Date(now + accessTokenMinutes * 60 * 1000)).signWith(getSigningKey()).compact();
     }
 
     public Boolean validateToken(String token) {
-        try {
-            getAllClaimsFromToken(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token) != null;
     }
 }
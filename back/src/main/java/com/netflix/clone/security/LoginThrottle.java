@@ -0,0 +1,103 @@
+package com.netflix.clone.security;
+
+import com.netflix.clone.exception.TooManyRequestsException;
+import com.netflix.clone.util.SlidingWindowSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sliding-window limits on login attempts per email and per client IP, checked before the user is looked up so a
+ * credential-stuffing burst never reaches the database. Counts live in fixed-size sketches, so memory does not grow
+ * with the number of distinct emails or addresses an attacker cycles through.
+ */
+@Component
+public class LoginThrottle {
+
+    private final SlidingWindowSketch emailAttempts;
+    private final SlidingWindowSketch ipAttempts;
+
+    private final int maxAttemptsPerEmail;
+    private final int maxAttemptsPerIp;
+
+    private final Counter emailThrottled;
+    private final Counter ipThrottled;
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${app.auth.throttle.window-seconds:600}") long windowSeconds,
+                         @Value("${app.auth.throttle.max-attempts-per-email:10}") int maxAttemptsPerEmail,
+                         @Value("${app.auth.throttle.max-attempts-per-ip:50}") int maxAttemptsPerIp,
+                         @Value("${app.auth.throttle.sketch-width:16384}") int sketchWidth,
+                         @Value("${app.auth.throttle.trusted-proxies:}") List<String> trustedProxies) {
+        this.emailAttempts = new SlidingWindowSketch(sketchWidth, 4, windowSeconds * 1000);
+        this.ipAttempts = new SlidingWindowSketch(sketchWidth, 4, windowSeconds * 1000);
+        this.maxAttemptsPerEmail = maxAttemptsPerEmail;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.emailThrottled = Counter.builder("auth.login.throttled").tag("key", "email").register(meterRegistry);
+        this.ipThrottled = Counter.builder("auth.login.throttled").tag("key", "ip").register(meterRegistry);
+        this.trustedProxies = trustedProxies.stream().map(String::trim).filter(proxy -> !proxy.isEmpty()).map(IpAddressMatcher::new).toList();
+    }
+
+    /**
+     * The address to count attempts against. Behind a load balancer the remote address is the balancer's own, so when
+     * the request arrives from a trusted proxy (address or CIDR) X-Forwarded-For is walked from the right and the first
+     * hop not added by a trusted proxy wins. Entries further left are client-supplied and never trusted.
+     */
+    public String clientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if(forwardedFor == null || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        for(int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if(!hop.isEmpty() && !isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for(IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if(proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException ex) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the attempt and throws when either limit is exceeded. The IP is checked first so a single source cannot
+     * lock out many accounts by burning their per-email budgets.
+     */
+    public void acquire(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        if(clientIp != null && ipAttempts.increment(clientIp, now) > maxAttemptsPerIp) {
+            ipThrottled.increment();
+            throw new TooManyRequestsException("Too many login attempts, try again later!", retryAfterSeconds(ipAttempts, now));
+        }
+        if(email != null && emailAttempts.increment(email.trim().toLowerCase(Locale.ROOT), now) > maxAttemptsPerEmail) {
+            emailThrottled.increment();
+            throw new TooManyRequestsException("Too many login attempts, try again later!", retryAfterSeconds(emailAttempts, now));
+        }
+    }
+
+    private static long retryAfterSeconds(SlidingWindowSketch sketch, long now) {
+        long remaining = sketch.windowMillis() - Math.floorMod(now, sketch.windowMillis());
+        return Math.max(1, remaining / 1000);
+    }
+}
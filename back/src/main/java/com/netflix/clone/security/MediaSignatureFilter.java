@@ -0,0 +1,60 @@
+package com.netflix.clone.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Fast path for media GETs carrying a signed URL: checks the HMAC, expiry and the signer's token epoch and marks the
+ * request as granted, without touching the JWT library or the SecurityContext. Media requests without a signature fall through to the
+ * regular JWT authentication.
+ */
+@Component
+public class MediaSignatureFilter extends OncePerRequestFilter {
+
+    public static final String SIGNED_ATTRIBUTE = "com.netflix.clone.security.MediaSignatureFilter.signed";
+
+    private static final String VIDEO_PATH = "/api/files/video/";
+    private static final String IMAGE_PATH = "/api/files/image/";
+
+    private final MediaUrlSigner mediaUrlSigner;
+
+    private final TokenRevocationRegistry revocationRegistry;
+
+    public MediaSignatureFilter(MediaUrlSigner mediaUrlSigner, TokenRevocationRegistry revocationRegistry) {
+        this.mediaUrlSigner = mediaUrlSigner;
+        this.revocationRegistry = revocationRegistry;
+    }
+
+    public static boolean isMediaPath(String path) {
+        return path.startsWith(VIDEO_PATH) || path.startsWith(IMAGE_PATH);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !isMediaPath(path(request)) || request.getParameter("s") == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        MediaUrlSigner.Grant grant = mediaUrlSigner.verify(path(request), request.getParameter("e"), request.getParameter("u"),
+                request.getParameter("v"), request.getParameter("s"));
+        // Deactivation, password reset and revoke-all bump the user's epoch, which ends their signed URLs too.
+        if(grant == null || revocationRegistry.isUserRevoked(grant.userId(), grant.epoch())) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Invalid or expired media signature");
+            return;
+        }
+        request.setAttribute(SIGNED_ATTRIBUTE, Boolean.TRUE);
+        request.setAttribute(MediaUrlSigner.VIEWER_ID_ATTRIBUTE, grant.userId());
+        filterChain.doFilter(request, response);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,124 @@
+package com.netflix.clone.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Signs media paths for one viewer: {@code ?e=<expiry>&u=<user id>&v=<token epoch>&s=<signature>}, with the numbers
+ * in base 36 and a 128-bit truncated HMAC-SHA256 over path, expiry, user and epoch. The epoch lets
+ * {@link MediaSignatureFilter} reject URLs of users whose tokens were revoked since. Expiries are rounded up to a bucket so URLs stay
+ * stable (and browser-cacheable) for a while. The key is derived from the JWT secret but never equals it.
+ */
+@Component
+public class MediaUrlSigner {
+
+    public static final String GRANT_ATTRIBUTE = "com.netflix.clone.security.MediaUrlSigner.grant";
+    public static final String VIEWER_ID_ATTRIBUTE = "com.netflix.clone.security.MediaUrlSigner.viewerId";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+
+    private final Mac prototype;
+
+    private final long ttlSeconds;
+
+    private final long bucketSeconds;
+
+    /**
+     * Lets response mapping sign URLs for the viewer of the current request.
+     */
+    public record Grant(MediaUrlSigner signer, long userId, int epoch) {
+        public String sign(String path) {
+            return signer.sign(path, userId, epoch);
+        }
+
+        // Changes whenever freshly signed URLs would, so a response embedding them can be revalidated before they expire.
+        public String version() {
+            return Long.toString(signer.currentExpiry(), 36) + "." + Integer.toString(epoch, 36);
+        }
+    }
+
+    public MediaUrlSigner(@Value("${jwt.secret:defaultSecretKeyForNetFlixClonedefaultSecretKeyForNetFlixClone}") String jwtSecret,
+                          @Value("${app.media.url-ttl-seconds:14400}") long ttlSeconds,
+                          @Value("${app.media.url-bucket-seconds:900}") long bucketSeconds) {
+        try {
+            Mac derive = Mac.getInstance(ALGORITHM);
+            derive.init(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            byte[] mediaKey = derive.doFinal("media-urls".getBytes(StandardCharsets.US_ASCII));
+
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(mediaKey, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialize media URL signing", e);
+        }
+        this.ttlSeconds = ttlSeconds;
+        this.bucketSeconds = Math.max(1, bucketSeconds);
+    }
+
+    public Grant grantFor(long userId, int epoch) {
+        return new Grant(this, userId, epoch);
+    }
+
+    public long currentExpiry() {
+        long now = System.currentTimeMillis() / 1000;
+        return ((now + ttlSeconds) / bucketSeconds + 1) * bucketSeconds;
+    }
+
+    public String sign(String path, long userId, int epoch) {
+        String expiry = Long.toString(currentExpiry(), 36);
+        String user = Long.toString(userId, 36);
+        String version = Integer.toString(epoch, 36);
+        return "e=" + expiry + "&u=" + user + "&v=" + version + "&s="
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(path, expiry, user, version));
+    }
+
+    /**
+     * Returns the grant the URL was signed under, or null if the parameters are missing, malformed, expired or forged.
+     * Revocation is checked separately.
+     */
+    public Grant verify(String path, String expiry, String user, String epoch, String signature) {
+        if(expiry == null || user == null || epoch == null || signature == null) {
+            return null;
+        }
+        try {
+            if(Long.parseLong(expiry, 36) < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            byte[] presented = Base64.getUrlDecoder().decode(signature);
+            if(!MessageDigest.isEqual(presented, mac(path, expiry, user, epoch))) {
+                return null;
+            }
+            return new Grant(this, Long.parseLong(user, 36), Integer.parseInt(epoch, 36));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] mac(String path, String expiry, String user, String epoch) {
+        Mac mac = newMac();
+        mac.update(path.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) '|');
+        mac.update(expiry.getBytes(StandardCharsets.US_ASCII));
+        mac.update((byte) '|');
+        mac.update(user.getBytes(StandardCharsets.US_ASCII));
+        mac.update((byte) '|');
+        mac.update(epoch.getBytes(StandardCharsets.US_ASCII));
+        return Arrays.copyOf(mac.doFinal(), SIGNATURE_BYTES);
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC implementation cannot be cloned", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.netflix.clone.security;
+
+import com.netflix.clone.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs the adaptive password hash on a dedicated, size-bounded pool. Hashing is deliberately slow, so this caps how
+ * many cores it can take from request handling and sheds load with 429 once the queue is full instead of letting
+ * logins pile up.
+ */
+@Component
+public class PasswordHasher {
+
+    // bcrypt only reads this many bytes and Spring Security refuses to hash longer input; request DTOs cap it.
+    public static final int MAX_PASSWORD_BYTES = 72;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ExecutorService passwordHashExecutor;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, @Qualifier("passwordHashExecutor") ExecutorService passwordHashExecutor) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // True for legacy plain-text passwords and for hashes below the current work factor.
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        try {
+            return passwordHashExecutor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Server is busy, try again later!", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
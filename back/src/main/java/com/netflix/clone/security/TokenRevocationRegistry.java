@@ -0,0 +1,113 @@
+package com.netflix.clone.security;
+
+import com.netflix.clone.dao.RefreshTokenRepository;
+import com.netflix.clone.dao.RevokedTokenRepository;
+import com.netflix.clone.dao.UserRepository;
+import com.netflix.clone.entity.RevokedToken;
+import com.netflix.clone.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of revoked access tokens: token ids revoked on logout and per-user epochs bumped on deactivation or
+ * password reset. Most tokens are not revoked, so a bloom filter answers them without touching the exact maps.
+ * The state is rebuilt from the database on startup and periodically, which also picks up other instances' revocations.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    private static final int MIN_EXPECTED_ENTRIES = 1024;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final class State {
+        private final BloomFilter filter;
+        private final ConcurrentHashMap<String, Instant> revokedIds = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, Integer> userEpochs = new ConcurrentHashMap<>();
+
+        private State(int expectedEntries) {
+            this.filter = new BloomFilter(Math.max(MIN_EXPECTED_ENTRIES, expectedEntries * 2), FALSE_POSITIVE_RATE);
+        }
+
+        private void revokeId(String id, Instant expiresAt) {
+            revokedIds.put(id, expiresAt);
+            filter.put(id);
+        }
+
+        private void revokeUser(long userId, int epoch) {
+            userEpochs.merge(userId, epoch, Math::max);
+            filter.put(userId);
+        }
+    }
+
+    private volatile State state = new State(0);
+
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private UserRepository userRepository;
+
+    public TokenRevocationRegistry(RevokedTokenRepository revokedTokenRepository, RefreshTokenRepository refreshTokenRepository,
+                                   UserRepository userRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if(token.userId() != null && isUserRevoked(token.userId(), token.epoch())) {
+            return true;
+        }
+        State current = state;
+        return token.id() != null && current.filter.mightContain(token.id()) && current.revokedIds.containsKey(token.id());
+    }
+
+    // True if the user's tokens were revoked after ones carrying this epoch were issued.
+    public boolean isUserRevoked(long userId, int epoch) {
+        State current = state;
+        if(!current.filter.mightContain(userId)) {
+            return false;
+        }
+        Integer revokedEpoch = current.userEpochs.get(userId);
+        return revokedEpoch != null && epoch < revokedEpoch;
+    }
+
+    public synchronized void revokeToken(String id, Instant expiresAt) {
+        state.revokeId(id, expiresAt);
+    }
+
+    public synchronized void revokeUser(Long userId, int epoch) {
+        state.revokeUser(userId, epoch);
+    }
+
+    // Revocations take the same lock, so one landing mid-rebuild is applied to the new state rather than lost.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.jwt.revocation-rebuild-interval-ms:3600000}", fixedDelayString = "${app.jwt.revocation-rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        try {
+            Instant now = Instant.now();
+            revokedTokenRepository.deleteExpired(now);
+            refreshTokenRepository.deleteExpired(now);
+
+            List<RevokedToken> revokedTokens = revokedTokenRepository.findByExpiresAtAfter(now);
+            List<Object[]> epochs = userRepository.findTokenEpochs();
+            State rebuilt = new State(revokedTokens.size() + epochs.size());
+            revokedTokens.forEach(token -> rebuilt.revokeId(token.getJti(), token.getExpiresAt()));
+            epochs.forEach(row -> rebuilt.revokeUser((Long) row[0], (Integer) row[1]));
+            state = rebuilt;
+            logger.debug("Token revocation registry rebuilt with {} token ids and {} user epochs", revokedTokens.size(), epochs.size());
+        } catch (Exception ex) {
+            logger.warn("Could not rebuild token revocation registry: {}", ex.getMessage(), ex);
+        }
+    }
+}
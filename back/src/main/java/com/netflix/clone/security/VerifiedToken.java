@@ -0,0 +1,14 @@
+package com.netflix.clone.security;
+
+import java.time.Instant;
+
+/**
+ * The claims of a token whose signature and expiry have already been checked. Revocation is checked separately by
+ * {@link TokenRevocationRegistry}, since a cached verification outlives a revocation.
+ */
+public record VerifiedToken(String subject, String role, Long userId, String id, int epoch, Instant expiresAt) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAt.toEpochMilli() <= nowMillis;
+    }
+}
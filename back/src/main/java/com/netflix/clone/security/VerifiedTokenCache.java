@@ -0,0 +1,75 @@
+package com.netflix.clone.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Claims of recently verified tokens keyed by a SHA-256 digest of the token, so a player issuing many range requests
+ * with the same token pays for one signature check. Entries die with the token's own exp; when the cache is full,
+ * expired entries are swept first and, failing that, the whole cache is dropped.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private record TokenDigest(long high, long low) {}
+
+    private final ConcurrentHashMap<TokenDigest, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+    private final JwtUtil jwtUtil;
+
+    private final int maxEntries;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, @Value("${app.jwt.claims-cache-size:10000}") int maxEntries) {
+        this.jwtUtil = jwtUtil;
+        this.maxEntries = maxEntries;
+    }
+
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        TokenDigest digest = digest(token);
+        VerifiedToken cached = verified.get(digest);
+        if(cached != null) {
+            if(!cached.isExpired(now)) {
+                return cached;
+            }
+            verified.remove(digest, cached);
+            return null;
+        }
+
+        VerifiedToken fresh = jwtUtil.verify(token);
+        if(fresh != null) {
+            if(verified.size() >= maxEntries) {
+                evict(now);
+            }
+            verified.put(digest, fresh);
+        }
+        return fresh;
+    }
+
+    public void clear() {
+        verified.clear();
+    }
+
+    private void evict(long now) {
+        verified.values().removeIf(entry -> entry.isExpired(now));
+        if(verified.size() >= maxEntries) {
+            verified.clear();
+        }
+    }
+
+    private static TokenDigest digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new TokenDigest(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -4,13 +4,18 @@ import com.netflix.clone.dto.request.UserRequest;
 import com.netflix.clone.dto.response.EmailValidationResponse;
 import com.netflix.clone.dto.response.LoginResponse;
 import com.netflix.clone.dto.response.MessageResponse;
+import com.netflix.clone.security.VerifiedToken;
 import jakarta.validation.Valid;
 
 public interface AuthService {
 
     MessageResponse signup(@Valid UserRequest userRequest);
 
-    LoginResponse login(String email, String password);
+    LoginResponse login(String email, String password, String clientIp);
+
+    LoginResponse refresh(String refreshToken);
+
+    MessageResponse logout(VerifiedToken accessToken, String refreshToken);
 
     EmailValidationResponse validateEmail(String email);
 
@@ -0,0 +1,14 @@
+package com.netflix.clone.service;
+
+import com.netflix.clone.enums.AuthTokenPurpose;
+
+import java.time.Duration;
+
+public interface AuthTokenService {
+
+    String issue(Long userId, AuthTokenPurpose purpose, Duration ttl);
+
+    Long consume(String token, AuthTokenPurpose purpose);
+
+    void userDeleted(Long userId);
+}
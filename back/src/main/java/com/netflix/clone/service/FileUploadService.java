@@ -9,7 +9,7 @@ public interface FileUploadService {
 
     String storeImageFile(MultipartFile file);
 
-    ResponseEntity<Resource> serveVideo(String uuid, String rangeHeader);
+    ResponseEntity<Resource> serveVideo(String uuid, String rangeHeader, Long viewerId);
 
     ResponseEntity<Resource> serveImage(String uuid);
 }
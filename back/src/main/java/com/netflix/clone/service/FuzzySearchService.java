@@ -0,0 +1,13 @@
+package com.netflix.clone.service;
+
+import java.util.List;
+
+public interface FuzzySearchService {
+    List<Long> searchPublishedVideoIds(String query, int limit);
+
+    List<Long> searchUserIds(String query, int limit);
+
+    void refreshVideos();
+
+    void markUsersChanged();
+}
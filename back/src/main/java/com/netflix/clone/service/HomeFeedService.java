@@ -0,0 +1,7 @@
+package com.netflix.clone.service;
+
+import com.netflix.clone.dto.response.HomeFeedResponse;
+
+public interface HomeFeedService {
+    HomeFeedResponse getHomeFeed(String email);
+}
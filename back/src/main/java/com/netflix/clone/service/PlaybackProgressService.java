@@ -0,0 +1,23 @@
+package com.netflix.clone.service;
+
+import com.netflix.clone.dto.request.PlaybackProgressRequest;
+import com.netflix.clone.dto.response.ContinueWatchingResponse;
+import com.netflix.clone.dto.response.PlaybackProgressResponse;
+import com.netflix.clone.entity.PlaybackProgress;
+import com.netflix.clone.entity.Video;
+
+import java.util.List;
+
+public interface PlaybackProgressService {
+    record ResumePoint(Video video, PlaybackProgress progress) {}
+
+    void recordProgress(String email, Long videoId, PlaybackProgressRequest request);
+
+    PlaybackProgressResponse getProgress(String email, Long videoId);
+
+    List<ContinueWatchingResponse> getContinueWatching(String email, int limit);
+
+    List<ResumePoint> findContinueWatching(String email, int limit);
+
+    void userDeleted(Long userId);
+}
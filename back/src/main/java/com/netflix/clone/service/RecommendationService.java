@@ -0,0 +1,20 @@
+package com.netflix.clone.service;
+
+import com.netflix.clone.dto.response.RecommendationResponse;
+import com.netflix.clone.dto.response.VideoResponse;
+
+import java.util.List;
+
+public interface RecommendationService {
+    List<VideoResponse> getSimilarVideos(Long videoId, String email, int limit);
+
+    List<RecommendationResponse> getRecommendations(String email, int limit);
+
+    void watchlistItemAdded(long userId, long videoId);
+
+    void watchlistItemRemoved(long userId, long videoId);
+
+    void watchlistItemsChanged(long userId, long[] addedVideoIds, long[] removedVideoIds);
+
+    void videoDeleted(long videoId);
+}
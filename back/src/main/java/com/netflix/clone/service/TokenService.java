@@ -0,0 +1,16 @@
+package com.netflix.clone.service;
+
+import com.netflix.clone.dto.response.LoginResponse;
+import com.netflix.clone.entity.User;
+import com.netflix.clone.security.VerifiedToken;
+
+public interface TokenService {
+
+    LoginResponse issueTokens(User user);
+
+    LoginResponse refresh(String refreshToken);
+
+    void logout(VerifiedToken accessToken, String refreshToken);
+
+    void revokeAllTokens(User user);
+}
@@ -1,12 +1,15 @@
 package com.netflix.clone.service;
 
+import com.netflix.clone.dto.request.BulkPublishRequest;
 import com.netflix.clone.dto.request.VideoRequest;
+import com.netflix.clone.dto.response.BulkImportResponse;
 import com.netflix.clone.dto.response.MessageResponse;
 import com.netflix.clone.dto.response.PageResponse;
 import com.netflix.clone.dto.response.VideoResponse;
 import com.netflix.clone.dto.response.VideoStatsResponse;
 import jakarta.validation.Valid;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface VideoService {
@@ -20,9 +23,13 @@ public interface VideoService {
 
     MessageResponse toggleVideoPublishStatusByAdmin(Long id, boolean value);
 
+    BulkImportResponse importVideosByAdmin(InputStream body, String contentType);
+
+    MessageResponse bulkUpdatePublishStatusByAdmin(BulkPublishRequest bulkPublishRequest);
+
     VideoStatsResponse getAdminStats();
 
     PageResponse<VideoResponse> getPublishedVideos(int page, int size, String search, String email);
 
-    List<VideoResponse> getFeaturedVideos();
+    List<VideoResponse> getFeaturedVideos(String email);
 }
@@ -0,0 +1,11 @@
+package com.netflix.clone.service;
+
+import com.netflix.clone.dto.response.VideoSuggestionResponse;
+
+import java.util.List;
+
+public interface VideoSuggestionService {
+    List<VideoSuggestionResponse> suggest(String query, int limit);
+
+    void refresh();
+}
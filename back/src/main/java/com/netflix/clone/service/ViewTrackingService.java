@@ -0,0 +1,21 @@
+package com.netflix.clone.service;
+
+import com.netflix.clone.dto.response.VideoResponse;
+import com.netflix.clone.entity.Video;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ViewTrackingService {
+    void recordView(String videoUuid);
+
+    List<Long> getTrendingVideoIds(int limit);
+
+    long trendingVersion();
+
+    List<VideoResponse> getTrendingVideos(String email, int limit);
+
+    List<Video> findFeaturedVideos(int size);
+
+    void videosRemoved(Collection<Long> videoIds);
+}
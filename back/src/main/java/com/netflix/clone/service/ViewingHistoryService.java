@@ -0,0 +1,7 @@
+package com.netflix.clone.service;
+
+public interface ViewingHistoryService {
+    void recordPlayStart(Long userId, String videoUuid);
+
+    void recordPlayStop(String email, Long videoId, int positionSeconds);
+}
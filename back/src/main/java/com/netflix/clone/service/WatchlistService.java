@@ -1,13 +1,20 @@
 package com.netflix.clone.service;
 
+import com.netflix.clone.dto.request.WatchlistBatchRequest;
+import com.netflix.clone.dto.response.CursorPageResponse;
 import com.netflix.clone.dto.response.MessageResponse;
 import com.netflix.clone.dto.response.PageResponse;
 import com.netflix.clone.dto.response.VideoResponse;
+import com.netflix.clone.dto.response.WatchlistBatchResponse;
 
 public interface WatchlistService {
     MessageResponse addToWatchlist(String email, Long videoId);
 
     MessageResponse removeFromWatchlist(String email, Long videoId);
 
+    WatchlistBatchResponse applyBatch(String email, WatchlistBatchRequest request);
+
     PageResponse<VideoResponse> getWatchlistPaginated(String email, int page, int size, String search);
+
+    CursorPageResponse<VideoResponse> getRecentWatchlist(String email, String cursor, int size);
 }
@@ -1,70 +1,115 @@
 package com.netflix.clone.serviceImpl;
 
+import com.netflix.clone.cache.ChangeLog;
+import com.netflix.clone.cache.RegisteredEmailFilter;
+import com.netflix.clone.cache.UserSnapshot;
+import com.netflix.clone.cache.UserSnapshotCache;
 import com.netflix.clone.dao.UserRepository;
 import com.netflix.clone.dto.request.UserRequest;
 import com.netflix.clone.dto.response.EmailValidationResponse;
 import com.netflix.clone.dto.response.LoginResponse;
 import com.netflix.clone.dto.response.MessageResponse;
 import com.netflix.clone.entity.User;
+import com.netflix.clone.enums.AuthTokenPurpose;
 import com.netflix.clone.enums.Role;
 import com.netflix.clone.exception.*;
-import com.netflix.clone.security.JwtUtil;
+import com.netflix.clone.security.LoginThrottle;
+import com.netflix.clone.security.PasswordHasher;
+import com.netflix.clone.security.VerifiedToken;
 import com.netflix.clone.service.AuthService;
+import com.netflix.clone.service.AuthTokenService;
 import com.netflix.clone.service.EmailService;
+import com.netflix.clone.service.FuzzySearchService;
+import com.netflix.clone.service.TokenService;
 import com.netflix.clone.util.ServiceUtils;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-import java.util.UUID;
+import java.time.Duration;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
+
+    private static final Duration VERIFICATION_TOKEN_TTL = Duration.ofDays(1);
+    private static final Duration PASSWORD_RESET_TOKEN_TTL = Duration.ofDays(1);
+
     private UserRepository userRepository;
 
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     private EmailService emailService;
 
-    private JwtUtil jwtUtil;
+    private TokenService tokenService;
 
     private ServiceUtils serviceUtils;
 
-    public AuthServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, EmailService emailService, JwtUtil jwtUtil, ServiceUtils serviceUtils) {
+    private FuzzySearchService fuzzySearchService;
+
+    private LoginThrottle loginThrottle;
+
+    private AuthTokenService authTokenService;
+
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    private UserSnapshotCache userSnapshotCache;
+
+    private ChangeLog changeLog;
+
+    public AuthServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher, EmailService emailService, TokenService tokenService, ServiceUtils serviceUtils,
+                           FuzzySearchService fuzzySearchService, LoginThrottle loginThrottle, AuthTokenService authTokenService,
+                           RegisteredEmailFilter registeredEmailFilter, UserSnapshotCache userSnapshotCache, ChangeLog changeLog) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.emailService = emailService;
-        this.jwtUtil = jwtUtil;
+        this.tokenService = tokenService;
         this.serviceUtils = serviceUtils;
+        this.fuzzySearchService = fuzzySearchService;
+        this.loginThrottle = loginThrottle;
+        this.authTokenService = authTokenService;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.userSnapshotCache = userSnapshotCache;
+        this.changeLog = changeLog;
     }
 
     @Override
+    @Transactional
     public MessageResponse signup(UserRequest userRequest) {
-        if(userRepository.existsByEmail(userRequest.getEmail())) {
+        if(registeredEmailFilter.mightExist(userRequest.getEmail()) && userRepository.existsByEmail(userRequest.getEmail())) {
             throw new EmailAlreadyExistsException("Email already exists!");
         }
 
         User user = new User();
         user.setEmail(userRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(userRequest.getPassword()));
+        user.setPassword(passwordHasher.encode(userRequest.getPassword()));
         user.setFullName(userRequest.getFullName());
         user.setRole(Role.USER);
         user.setActive(true);
         user.setEmailVerified(false);
-        String verificationToken = UUID.randomUUID().toString();
-        user.setVerificationToken(verificationToken);
-        user.setVerificationTokenExpiry(Instant.now().plusSeconds(86400));
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw new EmailAlreadyExistsException("Email already exists!");
+        }
+        registeredEmailFilter.added(user.getEmail());
+        changeLog.userChanged(user.getId(), user.getEmail());
+        fuzzySearchService.markUsersChanged();
+        String verificationToken = authTokenService.issue(user.getId(), AuthTokenPurpose.EMAIL_VERIFICATION, VERIFICATION_TOKEN_TTL);
         emailService.sendVerificationEmail(userRequest.getEmail(), verificationToken);
 
         return new MessageResponse("User registered successfully!");
     }
 
     @Override
-    public LoginResponse login(String email, String password) {
+    public LoginResponse login(String email, String password, String clientIp) {
+        loginThrottle.acquire(email, clientIp);
+
         User user = userRepository.findByEmail(email)
-                .filter(u -> passwordEncoder.matches(password, u.getPassword()))
+                .filter(u -> passwordHasher.matches(password, u.getPassword()))
                 .orElseThrow(() -> new BadCredentialsException("Invalid credentials!"));
 
         if(!user.isActive()) {
@@ -75,67 +120,78 @@ public class AuthServiceImpl implements AuthService {
             throw new EmailNotVerifiedException("Email not verified!");
         }
 
-        final String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
-        return new LoginResponse(token, user.getEmail(), user.getFullName(), user.getRole().name());
+        // Best effort: a legacy password bcrypt cannot take (over 72 bytes) or a busy hash pool must not block the login.
+        if(passwordHasher.upgradeEncoding(user.getPassword())) {
+            try {
+                user.setPassword(passwordHasher.encode(password));
+                userRepository.save(user);
+                changeLog.userChanged(user.getId(), user.getEmail());
+            } catch (RuntimeException ex) {
+                logger.warn("Could not upgrade password hash for user {}: {}", user.getId(), ex.getMessage());
+            }
+        }
+
+        return tokenService.issueTokens(user);
+    }
+
+    @Override
+    public LoginResponse refresh(String refreshToken) {
+        return tokenService.refresh(refreshToken);
+    }
+
+    @Override
+    public MessageResponse logout(VerifiedToken accessToken, String refreshToken) {
+        tokenService.logout(accessToken, refreshToken);
+        return new MessageResponse("Logged out successfully!");
     }
 
     @Override
     public EmailValidationResponse validateEmail(String email) {
-        boolean exists = userRepository.existsByEmail(email);
+        boolean exists = registeredEmailFilter.mightExist(email) && userRepository.existsByEmail(email);
         return new EmailValidationResponse(exists, !exists);
     }
 
     @Override
     public MessageResponse verifyEmail(String token) {
-        User user = userRepository.findByVerificationToken(token)
+        Long userId = authTokenService.consume(token, AuthTokenPurpose.EMAIL_VERIFICATION);
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new InvalidTokenException("Invalid token!"));
 
-        if(user.getVerificationTokenExpiry() == null || user.getVerificationTokenExpiry().isBefore(Instant.now())) {
-            throw new InvalidTokenException("Token expired!");
-        }
-
         user.setEmailVerified(true);
-        user.setVerificationToken(null);
-        user.setVerificationTokenExpiry(null);
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getEmail());
+        changeLog.userChanged(user.getId(), user.getEmail());
         return new MessageResponse("Email verified successfully!");
     }
 
     @Override
+    @Transactional
     public MessageResponse resendVerification(String email) {
-        User user = serviceUtils.getUserByEmailOrThrow(email);
-        String verificationToken = UUID.randomUUID().toString();
-        user.setVerificationToken(verificationToken);
-        user.setVerificationTokenExpiry(Instant.now().plusSeconds(86400));
-        userRepository.save(user);
+        UserSnapshot user = serviceUtils.getUserSnapshotByEmailOrThrow(email);
+        String verificationToken = authTokenService.issue(user.id(), AuthTokenPurpose.EMAIL_VERIFICATION, VERIFICATION_TOKEN_TTL);
         emailService.sendVerificationEmail(email, verificationToken);
         return new MessageResponse("Verification email resent successfully!");
     }
 
     @Override
+    @Transactional
     public MessageResponse forgotPassword(String email) {
-        User user = serviceUtils.getUserByEmailOrThrow(email);
-        String resetToken = UUID.randomUUID().toString();
-        user.setPasswordResetToken(resetToken);
-        user.setPasswordResetTokenExpiry(Instant.now().plusSeconds(86400));
-        userRepository.save(user);
+        UserSnapshot user = serviceUtils.getUserSnapshotByEmailOrThrow(email);
+        String resetToken = authTokenService.issue(user.id(), AuthTokenPurpose.PASSWORD_RESET, PASSWORD_RESET_TOKEN_TTL);
         emailService.sendPasswordResetEmail(email, resetToken);
 
         return new MessageResponse("Password reset email sent successfully!");
     }
 
     @Override
+    @Transactional
     public MessageResponse resetPassword(String token, String newPassword) {
-        User user = userRepository.findByPasswordResetToken(token)
+        Long userId = authTokenService.consume(token, AuthTokenPurpose.PASSWORD_RESET);
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new InvalidTokenException("Invalid token!"));
 
-        if(user.getPasswordResetTokenExpiry() == null || user.getPasswordResetTokenExpiry().isBefore(Instant.now())) {
-            throw new InvalidTokenException("Token expired!");
-        }
-
-        user.setPassword(passwordEncoder.encode(newPassword));
-        user.setPasswordResetToken(null);
-        user.setPasswordResetTokenExpiry(null);
+        user.setPassword(passwordHasher.encode(newPassword));
+        tokenService.revokeAllTokens(user);
         userRepository.save(user);
 
         return new MessageResponse("Password reset successfully!");
@@ -145,18 +201,19 @@ public class AuthServiceImpl implements AuthService {
     public MessageResponse changePassword(String email, String currentPassword, String newPassword) {
         User user = serviceUtils.getUserByEmailOrThrow(email);
 
-        if(!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if(!passwordHasher.matches(currentPassword, user.getPassword())) {
             throw new InvalidCredentialsException("Invalid current password!");
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
         userRepository.save(user);
+        changeLog.userChanged(user.getId(), user.getEmail());
         return new MessageResponse("Password changed successfully!");
     }
 
     @Override
     public LoginResponse currentUser(String email) {
-        User user = serviceUtils.getUserByEmailOrThrow(email);
-        return new LoginResponse(null, user.getEmail(), user.getFullName(), user.getRole().name());
+        UserSnapshot user = serviceUtils.getUserSnapshotByEmailOrThrow(email);
+        return new LoginResponse(null, user.email(), user.fullName(), user.role().name(), null);
     }
 }
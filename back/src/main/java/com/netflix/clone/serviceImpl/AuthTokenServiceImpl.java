@@ -0,0 +1,97 @@
+package com.netflix.clone.serviceImpl;
+
+import com.netflix.clone.dao.AuthTokenRepository;
+import com.netflix.clone.entity.AuthToken;
+import com.netflix.clone.enums.AuthTokenPurpose;
+import com.netflix.clone.exception.InvalidTokenException;
+import com.netflix.clone.service.AuthTokenService;
+import com.netflix.clone.util.HashUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class AuthTokenServiceImpl implements AuthTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthTokenServiceImpl.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private AuthTokenRepository authTokenRepository;
+
+    @Value("${app.auth-tokens.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    public AuthTokenServiceImpl(AuthTokenRepository authTokenRepository) {
+        this.authTokenRepository = authTokenRepository;
+    }
+
+    // A user holds at most one live token per purpose; issuing a new one invalidates the previous email's link.
+    @Override
+    @Transactional
+    public String issue(Long userId, AuthTokenPurpose purpose, Duration ttl) {
+        authTokenRepository.deleteByUserIdAndPurpose(userId, purpose);
+
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        AuthToken authToken = new AuthToken();
+        authToken.setTokenHash(HashUtils.sha256Hex(token));
+        authToken.setUserId(userId);
+        authToken.setPurpose(purpose);
+        authToken.setExpiresAt(Instant.now().plus(ttl));
+        authTokenRepository.save(authToken);
+        return token;
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public Long consume(String token, AuthTokenPurpose purpose) {
+        AuthToken authToken = authTokenRepository.findByTokenHashAndPurpose(HashUtils.sha256Hex(token), purpose)
+                .orElseThrow(() -> new InvalidTokenException("Invalid token!"));
+
+        authTokenRepository.delete(authToken);
+        if(authToken.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidTokenException("Token expired!");
+        }
+        return authToken.getUserId();
+    }
+
+    @Override
+    public void userDeleted(Long userId) {
+        authTokenRepository.deleteByUserId(userId);
+    }
+
+    // Deletes in id batches so a large backlog never holds one long-running delete over the expiry index.
+    @Scheduled(initialDelayString = "${app.auth-tokens.purge-interval-ms:3600000}", fixedDelayString = "${app.auth-tokens.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            Instant now = Instant.now();
+            int purged = 0;
+            List<Long> expired;
+            do {
+                expired = authTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeBatchSize));
+                if(!expired.isEmpty()) {
+                    authTokenRepository.deleteAllByIdInBatch(expired);
+                    purged += expired.size();
+                }
+            } while(expired.size() == purgeBatchSize);
+            if(purged > 0) {
+                logger.debug("Purged {} expired auth tokens", purged);
+            }
+        } catch (Exception ex) {
+            logger.warn("Could not purge expired auth tokens: {}", ex.getMessage(), ex);
+        }
+    }
+}
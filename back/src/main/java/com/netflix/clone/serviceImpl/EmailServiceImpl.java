@@ -1,85 +1,181 @@
 package com.netflix.clone.serviceImpl;
 
-import com.netflix.clone.exception.EmailNotVerifiedException;
+import com.netflix.clone.dao.EmailOutboxRepository;
+import com.netflix.clone.entity.EmailOutbox;
+import com.netflix.clone.enums.EmailOutboxStatus;
 import com.netflix.clone.service.EmailService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emails are written to the outbox in the caller's transaction and delivered by a background dispatcher, so signup
+ * and password flows never wait on SMTP and an email is sent only if the change that triggered it committed.
+ */
 @Service
 public class EmailServiceImpl implements EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
 
+    private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
     private JavaMailSender mailSender;
 
+    private EmailOutboxRepository emailOutboxRepository;
+
+    private TransactionTemplate transactionTemplate;
+
     @Value("${app.frontend.url:http://localhost:4200}")
     private String frontendUrl;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
 
-    public EmailServiceImpl(JavaMailSender mailSender) {
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    public EmailServiceImpl(JavaMailSender mailSender, EmailOutboxRepository emailOutboxRepository, TransactionTemplate transactionTemplate) {
         this.mailSender = mailSender;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
     public void sendVerificationEmail(String toEmail, String token) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Netflix - Verify your Email");
-
-            String verificationLink = frontendUrl + "/verify-email?token=" + token;
-
-            String emailBody =
-                    "Welcome to Netflix!\n\n"
-                    + "Thank you for registering. Please verify your email address by clicking the link below:\n\n"
-                    + verificationLink
-                    + "\n\n"
-                    + "This link will expire in 24 hours.\n\n"
-                    + "If you didn't create this account, please ignore this email. \n\n"
-                    + "Danke";
-
-            message.setText(emailBody);
-            mailSender.send(message);
-            logger.info("Email sent to {}", toEmail);
-        } catch (Exception e) {
-            logger.error("Error sending email to {}", toEmail, e);
-            throw new EmailNotVerifiedException("Error sending email to " + toEmail + ":");
-        }
+        String verificationLink = frontendUrl + "/verify-email?token=" + token;
+
+        String emailBody =
+                "Welcome to Netflix!\n\n"
+                + "Thank you for registering. Please verify your email address by clicking the link below:\n\n"
+                + verificationLink
+                + "\n\n"
+                + "This link will expire in 24 hours.\n\n"
+                + "If you didn't create this account, please ignore this email. \n\n"
+                + "Danke";
+
+        enqueue(toEmail, "Netflix - Verify your Email", emailBody);
     }
 
     @Override
     public void sendPasswordResetEmail(String toEmail, String token) {
+        String resetLink = frontendUrl + "/reset-password?token=" + token;
+
+        String emailBody =
+                "Hi,\n\n"
+                + "We received a request to reset your password. Please click the link below to reset your password:\n\n"
+                + resetLink
+                + "\n\n"
+                + "This link will expire in 1 hours.\n\n"
+                + "If you didn't request this, please ignore this email.\n\n"
+                + "Danke";
+
+        enqueue(toEmail, "Netflix - Reset your Password", emailBody);
+    }
+
+    private void enqueue(String toEmail, String subject, String body) {
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(toEmail);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setNextAttemptAt(Instant.now());
+        emailOutboxRepository.save(email);
+    }
+
+    @Scheduled(initialDelayString = "${app.mail.outbox.poll-interval-ms:2000}", fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}",
+            scheduler = "mailDispatchScheduler")
+    public void dispatchOutbox() {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Netflix - Reset your Password");
-
-            String resetLink = frontendUrl + "/reset-password?token=" + token;
-
-            String emailBody =
-                    "Hi,\n\n"
-                    + "We received a request to reset your password. Please click the link below to reset your password:\n\n"
-                    + resetLink
-                    + "\n\n"
-                    + "This link will expire in 1 hours.\n\n"
-                    + "If you didn't request this, please ignore this email.\n\n"
-                    + "Danke";
-
-            message.setText(emailBody);
-            mailSender.send(message);
-            logger.info("Email sent to {}", toEmail);
-
-        } catch (Exception e) {
-            logger.error("Error sending email to {}", toEmail, e);
-            throw new RuntimeException("Error sending email to " + toEmail + ":");
+            Integer claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> dispatchBatch());
+            } while(claimed != null && claimed == batchSize);
+        } catch (Exception ex) {
+            logger.warn("Could not dispatch email outbox: {}", ex.getMessage(), ex);
+        }
+    }
+
+    // One send call delivers the whole batch over a single SMTP connection; per-message failures are retried with
+    // exponential backoff while the rest of the batch is removed.
+    private int dispatchBatch() {
+        List<EmailOutbox> batch = emailOutboxRepository.claimDue(Instant.now(), batchSize);
+        if(batch.isEmpty()) {
+            return 0;
+        }
+
+        SimpleMailMessage[] messages = batch.stream().map(this::toMessage).toArray(SimpleMailMessage[]::new);
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException ex) {
+            failures = ex.getFailedMessages();
+            if(failures.isEmpty()) {
+                batchFailure = ex;
+            }
+        } catch (MailException ex) {
+            batchFailure = ex;
+        }
+
+        Instant now = Instant.now();
+        int sent = 0;
+        for(int i = 0; i < batch.size(); i++) {
+            EmailOutbox email = batch.get(i);
+            Exception failure = batchFailure != null ? batchFailure : failures.get(messages[i]);
+            if(failure == null) {
+                emailOutboxRepository.delete(email);
+                sent++;
+            } else {
+                scheduleRetry(email, failure, now);
+            }
+        }
+        logger.debug("Email outbox batch: {} sent, {} to retry", sent, batch.size() - sent);
+        return batch.size();
+    }
+
+    private void scheduleRetry(EmailOutbox email, Exception failure, Instant now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(failure.getMessage()));
+        if(attempts >= maxAttempts) {
+            email.setStatus(EmailOutboxStatus.FAILED);
+            logger.error("Giving up on email {} to {} after {} attempts", email.getId(), email.getRecipient(), attempts, failure);
+            return;
+        }
+        Duration delay = Duration.ofSeconds(retryBaseSeconds << Math.min(attempts - 1, 20));
+        email.setNextAttemptAt(now.plus(delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay));
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private static String truncate(String message) {
+        if(message == null) {
+            return null;
         }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
     }
 }
@@ -1,6 +1,8 @@
 package com.netflix.clone.serviceImpl;
 
 import com.netflix.clone.service.FileUploadService;
+import com.netflix.clone.service.ViewTrackingService;
+import com.netflix.clone.service.ViewingHistoryService;
 import com.netflix.clone.util.FileHandlerUtil;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,12 +25,21 @@ public class FileUploadServiceImpl implements FileUploadService {
     private Path videoStorageLocation;
     private Path imageStorageLocation;
 
+    private ViewTrackingService viewTrackingService;
+
+    private ViewingHistoryService viewingHistoryService;
+
     @Value("${file.upload.video-dir:uploads/videos}")
     private String videoDir;
 
     @Value("${file.upload.image-dir:uploads/images}")
     private String imageDir;
 
+    public FileUploadServiceImpl(ViewTrackingService viewTrackingService, ViewingHistoryService viewingHistoryService) {
+        this.viewTrackingService = viewTrackingService;
+        this.viewingHistoryService = viewingHistoryService;
+    }
+
     @PostConstruct
     public void init() {
         this.videoStorageLocation = Path.of(videoDir).toAbsolutePath().normalize();
@@ -53,7 +64,7 @@ public class FileUploadServiceImpl implements FileUploadService {
     }
 
     @Override
-    public ResponseEntity<Resource> serveVideo(String uuid, String rangeHeader) {
+    public ResponseEntity<Resource> serveVideo(String uuid, String rangeHeader, Long viewerId) {
         try {
             Path filePath = FileHandlerUtil.findFileByuUid(videoStorageLocation, uuid);
             Resource resource = FileHandlerUtil.createFullResource(filePath);
@@ -63,10 +74,15 @@ public class FileUploadServiceImpl implements FileUploadService {
             long fileLength = resource.contentLength();
 
             if(isFullContentRequest(rangeHeader)) {
+                recordPlayStart(uuid, viewerId);
                 return buildFullVideoResponse(resource, contentType, filename, fileLength);
             }
 
-            return buildPartialVideoResponse(filePath, rangeHeader, contentType, filename, fileLength);
+            ResponseEntity<Resource> response = buildPartialVideoResponse(filePath, rangeHeader, contentType, filename, fileLength);
+            if(response.getStatusCode().value() == 206 && isFirstRange(response)) {
+                recordPlayStart(uuid, viewerId);
+            }
+            return response;
         } catch (Exception ex) {
             return ResponseEntity.notFound().build();
         }
@@ -130,6 +146,17 @@ public class FileUploadServiceImpl implements FileUploadService {
                 .body(resource);
     }
 
+    private void recordPlayStart(String uuid, Long viewerId) {
+        viewTrackingService.recordView(uuid);
+        viewingHistoryService.recordPlayStart(viewerId, uuid);
+    }
+
+    // Players re-request ranges while seeking and buffering; only the range starting at byte 0 counts as a view.
+    private boolean isFirstRange(ResponseEntity<Resource> response) {
+        String contentRange = response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE);
+        return contentRange != null && contentRange.startsWith("bytes 0-");
+    }
+
     private boolean isFullContentRequest(String rangeHandler) {
         return rangeHandler == null || rangeHandler.isEmpty();
     }
@@ -0,0 +1,119 @@
+package com.netflix.clone.serviceImpl;
+
+import com.netflix.clone.dao.UserRepository;
+import com.netflix.clone.dao.VideoRepository;
+import com.netflix.clone.service.FuzzySearchService;
+import com.netflix.clone.util.TransactionUtils;
+import com.netflix.clone.util.TrigramIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class FuzzySearchServiceImpl implements FuzzySearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FuzzySearchServiceImpl.class);
+
+    private VideoRepository videoRepository;
+
+    private UserRepository userRepository;
+
+    private volatile TrigramIndex videoIndex = TrigramIndex.EMPTY;
+
+    private volatile TrigramIndex userIndex = TrigramIndex.EMPTY;
+
+    private final AtomicBoolean videosChanged = new AtomicBoolean(false);
+
+    private final AtomicBoolean usersChanged = new AtomicBoolean(false);
+
+    @Value("${app.search.fuzzy.min-similarity:0.3}")
+    private double minSimilarity;
+
+    @Value("${app.search.fuzzy.posting-budget:10000}")
+    private int postingBudget;
+
+    public FuzzySearchServiceImpl(VideoRepository videoRepository, UserRepository userRepository) {
+        this.videoRepository = videoRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public List<Long> searchPublishedVideoIds(String query, int limit) {
+        return toIds(videoIndex.search(query, limit, minSimilarity, postingBudget));
+    }
+
+    @Override
+    public List<Long> searchUserIds(String query, int limit) {
+        return toIds(userIndex.search(query, limit, minSimilarity, postingBudget));
+    }
+
+    private List<Long> toIds(List<TrigramIndex.Match> matches) {
+        return matches.stream().map(TrigramIndex.Match::id).toList();
+    }
+
+    @Override
+    public void refreshVideos() {
+        TransactionUtils.afterCommit(() -> videosChanged.set(true));
+    }
+
+    @Override
+    public void markUsersChanged() {
+        TransactionUtils.afterCommit(() -> usersChanged.set(true));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        rebuildVideoIndex();
+        rebuildUserIndex();
+    }
+
+    // Admin edits and bulk imports arrive in bursts, so they are coalesced the same way as user writes.
+    @Scheduled(fixedDelayString = "${app.search.fuzzy.video-refresh-interval-ms:10000}")
+    public void rebuildVideoIndexIfChanged() {
+        if(videosChanged.getAndSet(false)) {
+            rebuildVideoIndex();
+        }
+    }
+
+    public synchronized void rebuildVideoIndex() {
+        try {
+            List<TrigramIndex.Document> documents = new ArrayList<>();
+            for(Object[] row : videoRepository.findPublishedTitles()) {
+                documents.add(new TrigramIndex.Document((Long) row[0], List.of((String) row[1])));
+            }
+            videoIndex = TrigramIndex.build(documents);
+        } catch (Exception ex) {
+            videosChanged.set(true);
+            logger.warn("Could not rebuild video trigram index: {}", ex.getMessage(), ex);
+        }
+    }
+
+    // User writes are frequent (signups), so they only flag the index and it is rebuilt at most once per interval.
+    @Scheduled(fixedDelayString = "${app.search.fuzzy.user-refresh-interval-ms:30000}")
+    public void rebuildUserIndexIfChanged() {
+        if(usersChanged.getAndSet(false)) {
+            rebuildUserIndex();
+        }
+    }
+
+    public synchronized void rebuildUserIndex() {
+        try {
+            List<TrigramIndex.Document> documents = new ArrayList<>();
+            for(Object[] row : userRepository.findAllSearchableFields()) {
+                documents.add(new TrigramIndex.Document((Long) row[0], List.of((String) row[1], (String) row[2])));
+            }
+            userIndex = TrigramIndex.build(documents);
+        } catch (Exception ex) {
+            usersChanged.set(true);
+            logger.warn("Could not rebuild user trigram index: {}", ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.netflix.clone.serviceImpl;
+
+import com.netflix.clone.cache.WatchlistMembershipCache;
+import com.netflix.clone.dao.VideoRepository;
+import com.netflix.clone.dto.response.CategoryRowResponse;
+import com.netflix.clone.dto.response.ContinueWatchingResponse;
+import com.netflix.clone.dto.response.HomeFeedResponse;
+import com.netflix.clone.dto.response.VideoResponse;
+import com.netflix.clone.entity.Video;
+import com.netflix.clone.service.HomeFeedService;
+import com.netflix.clone.service.PlaybackProgressService;
+import com.netflix.clone.service.ViewTrackingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Service
+public class HomeFeedServiceImpl implements HomeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HomeFeedServiceImpl.class);
+
+    private VideoRepository videoRepository;
+
+    private WatchlistMembershipCache watchlistMembershipCache;
+
+    private ViewTrackingService viewTrackingService;
+
+    private PlaybackProgressService playbackProgressService;
+
+    private ExecutorService fanOutExecutor;
+
+    @Value("${app.home.branch-timeout-ms:800}")
+    private long branchTimeoutMs;
+
+    @Value("${app.home.featured-size:5}")
+    private int featuredSize;
+
+    @Value("${app.home.row-size:12}")
+    private int rowSize;
+
+    @Value("${app.home.category-rows:6}")
+    private int categoryRows;
+
+    public HomeFeedServiceImpl(VideoRepository videoRepository, WatchlistMembershipCache watchlistMembershipCache, ViewTrackingService viewTrackingService,
+                               PlaybackProgressService playbackProgressService, ExecutorService fanOutExecutor) {
+        this.videoRepository = videoRepository;
+        this.watchlistMembershipCache = watchlistMembershipCache;
+        this.viewTrackingService = viewTrackingService;
+        this.playbackProgressService = playbackProgressService;
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    // Every section runs on its own virtual thread with its own deadline; a slow or failing section is left out
+    // and named in unavailableSections instead of failing or delaying the whole feed.
+    @Override
+    public HomeFeedResponse getHomeFeed(String email) {
+        CompletableFuture<List<Video>> featured = branch(() -> viewTrackingService.findFeaturedVideos(featuredSize));
+        CompletableFuture<List<Video>> latest = branch(() -> videoRepository.findPublishedVideos(PageRequest.of(0, rowSize)).getContent());
+        CompletableFuture<Map<String, List<Video>>> rows = branch(this::loadCategoryRows);
+        CompletableFuture<WatchlistMembershipCache.Membership> watchlist = branch(() -> watchlistMembershipCache.forUser(email));
+        CompletableFuture<List<PlaybackProgressService.ResumePoint>> resumePoints = branch(() -> playbackProgressService.findContinueWatching(email, rowSize));
+
+        CompletableFuture.allOf(featured, latest, rows, watchlist, resumePoints).join();
+
+        List<String> unavailable = new ArrayList<>();
+        WatchlistMembershipCache.Membership inWatchlist = result(watchlist, "watchlist", unavailable);
+        WatchlistMembershipCache.Membership membership = inWatchlist != null ? inWatchlist : WatchlistMembershipCache.EMPTY;
+
+        List<VideoResponse> featuredResponses = toResponses(result(featured, "featured", unavailable), membership);
+        List<VideoResponse> latestResponses = toResponses(result(latest, "latest", unavailable), membership);
+
+        List<ContinueWatchingResponse> continueWatching = new ArrayList<>();
+        List<PlaybackProgressService.ResumePoint> loadedResumePoints = result(resumePoints, "continueWatching", unavailable);
+        if(loadedResumePoints != null) {
+            for(PlaybackProgressService.ResumePoint resumePoint : loadedResumePoints) {
+                resumePoint.video().setIsInWatchlist(membership.contains(resumePoint.video().getId()));
+                continueWatching.add(ContinueWatchingResponse.fromResumePoint(resumePoint));
+            }
+        }
+
+        List<CategoryRowResponse> categoryResponses = new ArrayList<>();
+        Map<String, List<Video>> loadedRows = result(rows, "categories", unavailable);
+        if(loadedRows != null) {
+            loadedRows.forEach((category, videos) -> categoryResponses.add(new CategoryRowResponse(category, toResponses(videos, membership))));
+        }
+
+        return new HomeFeedResponse(featuredResponses, continueWatching, latestResponses, categoryResponses, unavailable);
+    }
+
+    private Map<String, List<Video>> loadCategoryRows() {
+        List<String> categories = videoRepository.findTopPublishedCategories(PageRequest.of(0, categoryRows));
+
+        Map<String, CompletableFuture<List<Video>>> futures = new LinkedHashMap<>();
+        for(String category : categories) {
+            futures.put(category, branch(() -> videoRepository.findPublishedVideosByCategory(category, PageRequest.of(0, rowSize))));
+        }
+        CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+
+        Map<String, List<Video>> rows = new LinkedHashMap<>();
+        futures.forEach((category, future) -> {
+            List<Video> videos = future.join();
+            if(videos != null && !videos.isEmpty()) {
+                rows.put(category, videos);
+            }
+        });
+        return rows;
+    }
+
+    private <T> CompletableFuture<T> branch(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, fanOutExecutor)
+                .orTimeout(branchTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    logger.warn("Home feed section failed: {}", ex.getMessage());
+                    return null;
+                });
+    }
+
+    private <T> T result(CompletableFuture<T> future, String section, List<String> unavailable) {
+        T value = future.join();
+        if(value == null) {
+            unavailable.add(section);
+        }
+        return value;
+    }
+
+    // Mapping stays on the request thread: media URLs are built from the current servlet request.
+    private List<VideoResponse> toResponses(List<Video> videos, WatchlistMembershipCache.Membership membership) {
+        if(videos == null) {
+            return List.of();
+        }
+        videos.forEach(video -> video.setIsInWatchlist(membership.contains(video.getId())));
+        return videos.stream().map(VideoResponse::fromEntity).toList();
+    }
+}
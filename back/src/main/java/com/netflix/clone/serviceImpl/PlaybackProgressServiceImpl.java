@@ -0,0 +1,240 @@
+package com.netflix.clone.serviceImpl;
+
+import com.netflix.clone.cache.WatchlistMembershipCache;
+import com.netflix.clone.dao.PlaybackProgressRepository;
+import com.netflix.clone.dao.VideoRepository;
+import com.netflix.clone.dto.request.PlaybackProgressRequest;
+import com.netflix.clone.dto.response.ContinueWatchingResponse;
+import com.netflix.clone.dto.response.PlaybackProgressResponse;
+import com.netflix.clone.entity.PlaybackProgress;
+import com.netflix.clone.entity.Video;
+import com.netflix.clone.exception.ResourceNotFoundException;
+import com.netflix.clone.service.PlaybackProgressService;
+import com.netflix.clone.service.ViewingHistoryService;
+import com.netflix.clone.util.ServiceUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class PlaybackProgressServiceImpl implements PlaybackProgressService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaybackProgressServiceImpl.class);
+
+    private static final String UPSERT_SQL = "INSERT INTO playback_progress (user_id, video_id, position_seconds, duration_seconds, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?) AS new ON DUPLICATE KEY UPDATE position_seconds = new.position_seconds, "
+            + "duration_seconds = new.duration_seconds, updated_at = new.updated_at";
+
+    private PlaybackProgressRepository playbackProgressRepository;
+
+    private ServiceUtils serviceUtils;
+
+    private VideoRepository videoRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ViewingHistoryService viewingHistoryService;
+
+    private WatchlistMembershipCache watchlistMembershipCache;
+
+    private record ProgressKey(long userId, long videoId) {}
+
+    // The warm tier: one user's latest positions, loaded from the database once and then updated in place.
+    private static final class UserProgress {
+        private final long userId;
+        private final Map<Long, PlaybackProgress> positions = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+
+        private UserProgress(long userId) {
+            this.userId = userId;
+        }
+    }
+
+    private final Map<String, UserProgress> warmUsers;
+
+    // Latest unflushed position per (user, video); a newer heartbeat simply replaces the older one.
+    private final ConcurrentHashMap<ProgressKey, PlaybackProgress> pending = new ConcurrentHashMap<>();
+
+    @Value("${app.progress.max-loaded-per-user:500}")
+    private int maxLoadedPerUser;
+
+    @Value("${app.progress.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    @Value("${app.progress.finished-ratio:0.95}")
+    private double finishedRatio;
+
+    @Value("${app.progress.max-limit:50}")
+    private int maxLimit;
+
+    public PlaybackProgressServiceImpl(PlaybackProgressRepository playbackProgressRepository, ServiceUtils serviceUtils,
+                                       VideoRepository videoRepository, JdbcTemplate jdbcTemplate, ViewingHistoryService viewingHistoryService,
+                                       WatchlistMembershipCache watchlistMembershipCache,
+                                       @Value("${app.progress.max-warm-users:10000}") int maxWarmUsers) {
+        this.playbackProgressRepository = playbackProgressRepository;
+        this.serviceUtils = serviceUtils;
+        this.videoRepository = videoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.viewingHistoryService = viewingHistoryService;
+        this.watchlistMembershipCache = watchlistMembershipCache;
+        this.warmUsers = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserProgress> eldest) {
+                return size() > maxWarmUsers;
+            }
+        });
+    }
+
+    @Override
+    public void recordProgress(String email, Long videoId, PlaybackProgressRequest request) {
+        UserProgress user = warm(email);
+        if(!user.positions.containsKey(videoId) && !videoRepository.existsById(videoId)) {
+            throw new ResourceNotFoundException("Video not found with id: " + videoId);
+        }
+
+        PlaybackProgress progress = new PlaybackProgress(user.userId, videoId, request.getPositionSeconds(), request.getDurationSeconds(),
+                Instant.now());
+        user.positions.put(videoId, progress);
+        pending.put(new ProgressKey(user.userId, videoId), progress);
+        if(request.isStopped()) {
+            viewingHistoryService.recordPlayStop(email, videoId, request.getPositionSeconds());
+        }
+    }
+
+    @Override
+    public PlaybackProgressResponse getProgress(String email, Long videoId) {
+        PlaybackProgress progress = warm(email).positions.get(videoId);
+        return progress != null ? PlaybackProgressResponse.fromEntity(progress) : new PlaybackProgressResponse(videoId, 0, null, null);
+    }
+
+    @Override
+    public List<ContinueWatchingResponse> getContinueWatching(String email, int limit) {
+        List<ResumePoint> resumePoints = findContinueWatching(email, limit);
+        watchlistMembershipCache.decorate(email, resumePoints.stream().map(ResumePoint::video).toList());
+        return resumePoints.stream().map(ContinueWatchingResponse::fromResumePoint).toList();
+    }
+
+    @Override
+    public List<ResumePoint> findContinueWatching(String email, int limit) {
+        List<PlaybackProgress> inProgress = warm(email).positions.values().stream()
+                .filter(this::isInProgress)
+                .sorted(Comparator.comparing(PlaybackProgress::getUpdatedAt).reversed())
+                .limit(Math.min(limit, maxLimit))
+                .toList();
+        if(inProgress.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Video> videos = videoRepository.findAllById(inProgress.stream().map(PlaybackProgress::getVideoId).toList()).stream()
+                .filter(Video::isPublished)
+                .collect(Collectors.toMap(Video::getId, Function.identity()));
+        List<ResumePoint> resumePoints = new ArrayList<>();
+        for(PlaybackProgress progress : inProgress) {
+            Video video = videos.get(progress.getVideoId());
+            if(video != null) {
+                resumePoints.add(new ResumePoint(video, progress));
+            }
+        }
+        return resumePoints;
+    }
+
+    // Shares the flush lock: a flush that already drained this user's positions finishes its upsert before the
+    // delete, and a failed one cannot put them back afterwards.
+    @Override
+    public synchronized void userDeleted(Long userId) {
+        pending.keySet().removeIf(key -> key.userId() == userId);
+        synchronized(warmUsers) {
+            warmUsers.values().removeIf(user -> user.userId == userId);
+        }
+        playbackProgressRepository.deleteByUserId(userId);
+    }
+
+    private boolean isInProgress(PlaybackProgress progress) {
+        Integer duration = progress.getDurationSeconds();
+        return progress.getPositionSeconds() > 0 && (duration == null || duration == 0 || progress.getPositionSeconds() < duration * finishedRatio);
+    }
+
+    private UserProgress warm(String email) {
+        UserProgress user = warmUsers.get(email);
+        if(user == null) {
+            Long userId = serviceUtils.getUserSnapshotByEmailOrThrow(email).id();
+            user = warmUsers.computeIfAbsent(email, key -> new UserProgress(userId));
+        }
+        if(!user.loaded) {
+            load(user);
+        }
+        return user;
+    }
+
+    // Stored rows never overwrite positions already in memory; unflushed heartbeats from before an eviction are
+    // taken from the pending map so a reload cannot go back in time.
+    private void load(UserProgress user) {
+        synchronized(user) {
+            if(user.loaded) {
+                return;
+            }
+            for(PlaybackProgress stored : playbackProgressRepository.findByUserIdOrderByUpdatedAtDesc(user.userId, PageRequest.of(0, maxLoadedPerUser))) {
+                user.positions.putIfAbsent(stored.getVideoId(), stored);
+            }
+            pending.forEach((key, progress) -> {
+                if(key.userId() == user.userId) {
+                    user.positions.merge(key.videoId(), progress, (current, unflushed) ->
+                            unflushed.getUpdatedAt().isAfter(current.getUpdatedAt()) ? unflushed : current);
+                }
+            });
+            user.loaded = true;
+        }
+    }
+
+    // Entries are only removed if no newer heartbeat replaced them meanwhile; a failed batch is put back unless a
+    // newer position has arrived.
+    @Scheduled(initialDelayString = "${app.progress.flush-interval-ms:5000}", fixedDelayString = "${app.progress.flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        if(pending.isEmpty()) {
+            return;
+        }
+        Map<ProgressKey, PlaybackProgress> drained = new LinkedHashMap<>();
+        pending.forEach((key, progress) -> {
+            if(pending.remove(key, progress)) {
+                drained.put(key, progress);
+            }
+        });
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, drained.values(), flushBatchSize, (ps, progress) -> {
+                ps.setLong(1, progress.getUserId());
+                ps.setLong(2, progress.getVideoId());
+                ps.setInt(3, progress.getPositionSeconds());
+                if(progress.getDurationSeconds() != null) {
+                    ps.setInt(4, progress.getDurationSeconds());
+                } else {
+                    ps.setNull(4, Types.INTEGER);
+                }
+                ps.setTimestamp(5, Timestamp.from(progress.getUpdatedAt()));
+            });
+            logger.debug("Flushed {} playback positions", drained.size());
+        } catch (Exception ex) {
+            logger.warn("Could not flush {} playback positions: {}", drained.size(), ex.getMessage(), ex);
+            drained.forEach(pending::putIfAbsent);
+        }
+    }
+}
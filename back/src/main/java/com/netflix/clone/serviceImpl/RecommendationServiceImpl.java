@@ -0,0 +1,213 @@
+package com.netflix.clone.serviceImpl;
+
+import com.netflix.clone.cache.WatchlistMembershipCache;
+import com.netflix.clone.dao.VideoRepository;
+import com.netflix.clone.dto.response.RecommendationResponse;
+import com.netflix.clone.dto.response.VideoResponse;
+import com.netflix.clone.entity.Video;
+import com.netflix.clone.service.RecommendationService;
+import com.netflix.clone.util.CoOccurrenceMatrix;
+import com.netflix.clone.util.LongHashSet;
+import com.netflix.clone.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class RecommendationServiceImpl implements RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationServiceImpl.class);
+
+    private VideoRepository videoRepository;
+
+    private WatchlistMembershipCache watchlistMembershipCache;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService fanOutExecutor;
+
+    private final CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${app.recommendations.max-limit:50}")
+    private int maxLimit;
+
+    @Value("${app.recommendations.bootstrap-items-per-user:500}")
+    private int bootstrapItemsPerUser;
+
+    public RecommendationServiceImpl(VideoRepository videoRepository, WatchlistMembershipCache watchlistMembershipCache, JdbcTemplate jdbcTemplate,
+                                     ExecutorService fanOutExecutor) {
+        this.videoRepository = videoRepository;
+        this.watchlistMembershipCache = watchlistMembershipCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    // Replays the join table user by user; each saved item is paired with the ones saved before it.
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long started = System.currentTimeMillis();
+        long[] currentUser = {-1};
+        long[] items = new long[bootstrapItemsPerUser];
+        int[] itemCount = {0};
+        try {
+            withWriteLock(() -> {
+                jdbcTemplate.query("SELECT user_id, video_id FROM user_watchlist ORDER BY user_id", rs -> {
+                    long userId = rs.getLong(1);
+                    if(userId != currentUser[0]) {
+                        currentUser[0] = userId;
+                        itemCount[0] = 0;
+                    }
+                    if(itemCount[0] < items.length) {
+                        long videoId = rs.getLong(2);
+                        matrix.add(videoId, Arrays.copyOf(items, itemCount[0]));
+                        items[itemCount[0]++] = videoId;
+                    }
+                });
+                return null;
+            });
+            logger.info("Recommendation matrix bootstrapped in {} ms", System.currentTimeMillis() - started);
+        } catch (Exception ex) {
+            logger.warn("Could not bootstrap recommendation matrix: {}", ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public List<VideoResponse> getSimilarVideos(Long videoId, String email, int limit) {
+        List<CoOccurrenceMatrix.Scored> scored = withReadLock(() -> matrix.similar(videoId, Math.min(limit, maxLimit)));
+        Map<Long, Video> videos = loadPublished(scored.stream().map(CoOccurrenceMatrix.Scored::id).toList());
+        List<Video> similar = scored.stream()
+                .map(item -> videos.get(item.id()))
+                .filter(video -> video != null)
+                .toList();
+        watchlistMembershipCache.decorate(email, similar);
+        return similar.stream().map(VideoResponse::fromEntity).toList();
+    }
+
+    @Override
+    public List<RecommendationResponse> getRecommendations(String email, int limit) {
+        WatchlistMembershipCache.Membership membership = watchlistMembershipCache.forUser(email);
+        long[] saved = membership.toArray();
+        List<CoOccurrenceMatrix.Scored> scored = withReadLock(() -> matrix.recommend(saved, Math.min(limit, maxLimit)));
+
+        Set<Long> ids = new HashSet<>();
+        scored.forEach(item -> {
+            ids.add(item.id());
+            ids.add(item.becauseOf());
+        });
+        Map<Long, Video> videos = loadPublished(new ArrayList<>(ids));
+
+        List<RecommendationResponse> responses = new ArrayList<>();
+        for(CoOccurrenceMatrix.Scored item : scored) {
+            Video video = videos.get(item.id());
+            if(video == null) {
+                continue;
+            }
+            video.setIsInWatchlist(membership.contains(video.getId()));
+            Video becauseOf = videos.get(item.becauseOf());
+            responses.add(new RecommendationResponse(VideoResponse.fromEntity(video), item.becauseOf(),
+                    becauseOf != null ? becauseOf.getTitle() : null, item.score()));
+        }
+        return responses;
+    }
+
+    private Map<Long, Video> loadPublished(List<Long> ids) {
+        if(ids.isEmpty()) {
+            return Map.of();
+        }
+        return videoRepository.findAllById(ids).stream()
+                .filter(Video::isPublished)
+                .collect(Collectors.toMap(Video::getId, Function.identity()));
+    }
+
+    // The user's saved items are read off the request thread once the change is committed, so a watchlist toggle
+    // never pays for the size of the list. Concurrent toggles by one user may skew a pair count by one, which the
+    // next bootstrap corrects.
+    @Override
+    public void watchlistItemAdded(long userId, long videoId) {
+        watchlistItemsChanged(userId, new long[]{videoId}, new long[0]);
+    }
+
+    @Override
+    public void watchlistItemRemoved(long userId, long videoId) {
+        watchlistItemsChanged(userId, new long[0], new long[]{videoId});
+    }
+
+    @Override
+    public void watchlistItemsChanged(long userId, long[] addedVideoIds, long[] removedVideoIds) {
+        TransactionUtils.afterCommit(() -> fanOutExecutor.execute(() -> updateMatrix(userId, addedVideoIds, removedVideoIds)));
+    }
+
+    // Replays the change one item at a time from the list as it was before, so pairs within a batch count once.
+    private void updateMatrix(long userId, long[] added, long[] removed) {
+        try {
+            LongHashSet current = new LongHashSet();
+            jdbcTemplate.queryForList("SELECT video_id FROM user_watchlist WHERE user_id = ?", Long.class, userId)
+                    .forEach(current::add);
+            for(long videoId : added) {
+                current.remove(videoId);
+            }
+            for(long videoId : removed) {
+                current.add(videoId);
+            }
+
+            withWriteLock(() -> {
+                for(long videoId : removed) {
+                    current.remove(videoId);
+                    matrix.remove(videoId, current.toArray());
+                }
+                for(long videoId : added) {
+                    matrix.add(videoId, current.toArray());
+                    current.add(videoId);
+                }
+                return null;
+            });
+        } catch (Exception ex) {
+            logger.warn("Could not update recommendation matrix for user {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void videoDeleted(long videoId) {
+        TransactionUtils.afterCommit(() -> withWriteLock(() -> {
+            matrix.clear(videoId);
+            return null;
+        }));
+    }
+
+    private <T> T withReadLock(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T withWriteLock(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.netflix.clone.serviceImpl;
+
+import com.netflix.clone.cache.ChangeLog;
+import com.netflix.clone.dao.RefreshTokenRepository;
+import com.netflix.clone.dao.RevokedTokenRepository;
+import com.netflix.clone.dao.UserRepository;
+import com.netflix.clone.dto.response.LoginResponse;
+import com.netflix.clone.entity.RefreshToken;
+import com.netflix.clone.entity.RevokedToken;
+import com.netflix.clone.entity.User;
+import com.netflix.clone.exception.InvalidTokenException;
+import com.netflix.clone.security.JwtUtil;
+import com.netflix.clone.security.TokenRevocationRegistry;
+import com.netflix.clone.security.VerifiedToken;
+import com.netflix.clone.service.TokenService;
+import com.netflix.clone.util.HashUtils;
+import com.netflix.clone.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+@Service
+public class TokenServiceImpl implements TokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private UserRepository userRepository;
+
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationRegistry revocationRegistry;
+
+    private JwtUtil jwtUtil;
+
+    private ChangeLog changeLog;
+
+    @Value("${app.jwt.refresh-token-days:30}")
+    private long refreshTokenDays;
+
+    public TokenServiceImpl(UserRepository userRepository, RefreshTokenRepository refreshTokenRepository, RevokedTokenRepository revokedTokenRepository,
+                            TokenRevocationRegistry revocationRegistry, JwtUtil jwtUtil, ChangeLog changeLog) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationRegistry = revocationRegistry;
+        this.jwtUtil = jwtUtil;
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public LoginResponse issueTokens(User user) {
+        String accessToken = jwtUtil.generateToken(user.getEmail(), user.getRole().name(), user.getId(), user.getTokenEpoch());
+
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        RefreshToken stored = new RefreshToken();
+        stored.setTokenHash(HashUtils.sha256Hex(refreshToken));
+        stored.setUserId(user.getId());
+        stored.setExpiresAt(Instant.now().plus(Duration.ofDays(refreshTokenDays)));
+        refreshTokenRepository.save(stored);
+
+        return new LoginResponse(accessToken, user.getEmail(), user.getFullName(), user.getRole().name(), refreshToken);
+    }
+
+    // Refresh tokens rotate on every use. Presenting one that was already rotated means it leaked, so the whole
+    // family is revoked and the user has to log in again.
+    @Override
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public LoginResponse refresh(String refreshToken) {
+        Instant now = Instant.now();
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(HashUtils.sha256Hex(refreshToken))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token!"));
+
+        if(stored.getRevokedAt() != null) {
+            refreshTokenRepository.revokeAllForUser(stored.getUserId(), now);
+            throw new InvalidTokenException("Refresh token already used!");
+        }
+        if(stored.getExpiresAt().isBefore(now)) {
+            throw new InvalidTokenException("Refresh token expired!");
+        }
+        if(refreshTokenRepository.markRevoked(stored.getId(), now) == 0) {
+            throw new InvalidTokenException("Refresh token already used!");
+        }
+
+        User user = userRepository.findById(stored.getUserId())
+                .filter(User::isActive)
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token!"));
+        return issueTokens(user);
+    }
+
+    @Override
+    @Transactional
+    public void logout(VerifiedToken accessToken, String refreshToken) {
+        Instant now = Instant.now();
+        if(refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHash(HashUtils.sha256Hex(refreshToken))
+                    .ifPresent(stored -> refreshTokenRepository.markRevoked(stored.getId(), now));
+        }
+        if(accessToken != null && accessToken.id() != null && accessToken.expiresAt().isAfter(now)) {
+            revokedTokenRepository.save(new RevokedToken(accessToken.id(), accessToken.expiresAt()));
+            TransactionUtils.afterCommit(() -> revocationRegistry.revokeToken(accessToken.id(), accessToken.expiresAt()));
+            changeLog.accessTokenRevoked(accessToken.id(), accessToken.expiresAt());
+        }
+    }
+
+    // Bumps the user's token epoch; the caller saves the user.
+    @Override
+    public void revokeAllTokens(User user) {
+        int epoch = user.getTokenEpoch() + 1;
+        user.setTokenEpoch(epoch);
+        refreshTokenRepository.revokeAllForUser(user.getId(), Instant.now());
+        TransactionUtils.afterCommit(() -> revocationRegistry.revokeUser(user.getId(), epoch));
+        changeLog.userTokensRevoked(user.getId(), epoch);
+    }
+}
@@ -1,48 +1,88 @@
 package com.netflix.clone.serviceImpl;
 
+import com.netflix.clone.cache.ChangeLog;
+import com.netflix.clone.cache.RegisteredEmailFilter;
+import com.netflix.clone.cache.UserSnapshotCache;
+import com.netflix.clone.cache.WatchlistMembershipCache;
 import com.netflix.clone.dao.UserRepository;
 import com.netflix.clone.dto.request.UserRequest;
 import com.netflix.clone.dto.response.MessageResponse;
 import com.netflix.clone.dto.response.PageResponse;
 import com.netflix.clone.dto.response.UserResponse;
 import com.netflix.clone.entity.User;
+import com.netflix.clone.enums.AuthTokenPurpose;
 import com.netflix.clone.enums.Role;
 import com.netflix.clone.exception.EmailAlreadyExistsException;
 import com.netflix.clone.exception.InvalidRoleException;
+import com.netflix.clone.security.PasswordHasher;
+import com.netflix.clone.service.AuthTokenService;
 import com.netflix.clone.service.EmailService;
+import com.netflix.clone.service.FuzzySearchService;
+import com.netflix.clone.service.PlaybackProgressService;
+import com.netflix.clone.service.TokenService;
 import com.netflix.clone.service.UserService;
 import com.netflix.clone.util.PaginationUtils;
 import com.netflix.clone.util.ServiceUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.UUID;
+import java.util.List;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private UserRepository userRepository;
 
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     private ServiceUtils serviceUtils;
 
     private EmailService emailService;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, ServiceUtils serviceUtils, EmailService emailService) {
+    private FuzzySearchService fuzzySearchService;
+
+    private PlaybackProgressService playbackProgressService;
+
+    private WatchlistMembershipCache watchlistMembershipCache;
+
+    private TokenService tokenService;
+
+    private AuthTokenService authTokenService;
+
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    private UserSnapshotCache userSnapshotCache;
+
+    private ChangeLog changeLog;
+
+    public UserServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher, ServiceUtils serviceUtils, EmailService emailService,
+                           FuzzySearchService fuzzySearchService, PlaybackProgressService playbackProgressService,
+                           WatchlistMembershipCache watchlistMembershipCache, TokenService tokenService,
+                           AuthTokenService authTokenService, RegisteredEmailFilter registeredEmailFilter,
+                           UserSnapshotCache userSnapshotCache, ChangeLog changeLog) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.serviceUtils = serviceUtils;
         this.emailService = emailService;
+        this.fuzzySearchService = fuzzySearchService;
+        this.playbackProgressService = playbackProgressService;
+        this.watchlistMembershipCache = watchlistMembershipCache;
+        this.tokenService = tokenService;
+        this.authTokenService = authTokenService;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.userSnapshotCache = userSnapshotCache;
+        this.changeLog = changeLog;
     }
 
     @Override
+    @Transactional
     public MessageResponse createUser(UserRequest userRequest) {
-        if(userRepository.findByEmail(userRequest.getEmail()).isPresent()) {
+        if(registeredEmailFilter.mightExist(userRequest.getEmail()) && userRepository.existsByEmail(userRequest.getEmail())) {
             throw new EmailAlreadyExistsException("Email already exists!");
         }
 
@@ -50,14 +90,19 @@ public class UserServiceImpl implements UserService {
 
         User user = new User();
         user.setEmail(userRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(userRequest.getPassword()));
+        user.setPassword(passwordHasher.encode(userRequest.getPassword()));
         user.setFullName(userRequest.getFullName());
         user.setRole(Role.valueOf(userRequest.getRole().toUpperCase()));
         user.setActive(true);
-        String verificationToken = UUID.randomUUID().toString();
-        user.setVerificationToken(verificationToken);
-        user.setVerificationTokenExpiry(Instant.now().plusSeconds(86400));
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw new EmailAlreadyExistsException("Email already exists!");
+        }
+        registeredEmailFilter.added(user.getEmail());
+        changeLog.userChanged(user.getId(), user.getEmail());
+        fuzzySearchService.markUsersChanged();
+        String verificationToken = authTokenService.issue(user.getId(), AuthTokenPurpose.EMAIL_VERIFICATION, Duration.ofDays(1));
         emailService.sendVerificationEmail(userRequest.getEmail(), verificationToken);
         return new MessageResponse("User created successfully!");
     }
@@ -78,10 +123,14 @@ public class UserServiceImpl implements UserService {
         user.setFullName(userRequest.getFullName());
         user.setRole(Role.valueOf(userRequest.getRole().toUpperCase()));
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getEmail());
+        changeLog.userChanged(user.getId(), user.getEmail());
+        fuzzySearchService.markUsersChanged();
         return new MessageResponse("User updated successfully!");
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<UserResponse> getUsers(int page, int size, String search) {
         Pageable pageable = PaginationUtils.createPageRequest(page, size, "id");
 
@@ -89,6 +138,10 @@ public class UserServiceImpl implements UserService {
 
         if(search != null && !search.trim().isEmpty()) {
             userPage = userRepository.searchUsers(search.trim(), pageable);
+            if(userPage.isEmpty() && page == 0) {
+                List<Long> rankedIds = fuzzySearchService.searchUserIds(search.trim(), size);
+                userPage = PaginationUtils.toRankedPage(rankedIds, userRepository.findAllById(rankedIds), User::getId, pageable);
+            }
         } else {
             userPage = userRepository.findAll(pageable);
         }
@@ -96,6 +149,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public MessageResponse deleteUser(Long id, String currentUserEmail) {
         User user = serviceUtils.getUserByIdOrThrow(id);
 
@@ -105,11 +159,21 @@ public class UserServiceImpl implements UserService {
 
         ensureNotLastAdmin(user, "deactivate");
 
+        tokenService.revokeAllTokens(user);
         userRepository.deleteById(id);
+        authTokenService.userDeleted(id);
+        registeredEmailFilter.removed(user.getEmail());
+        userSnapshotCache.invalidate(user.getEmail());
+        playbackProgressService.userDeleted(id);
+        watchlistMembershipCache.invalidate(user.getEmail());
+        changeLog.userChanged(user.getId(), user.getEmail());
+        changeLog.watchlistChanged(user.getEmail());
+        fuzzySearchService.markUsersChanged();
         return new MessageResponse("User deleted successfully!");
     }
 
     @Override
+    @Transactional
     public MessageResponse toggleUserStatus(Long id, String currentUserEmail) {
         User user = serviceUtils.getUserByIdOrThrow(id);
 
@@ -120,7 +184,12 @@ public class UserServiceImpl implements UserService {
         ensureNotLastActiveAdmin(user);
 
         user.setActive(!user.isActive());
+        if(!user.isActive()) {
+            tokenService.revokeAllTokens(user);
+        }
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getEmail());
+        changeLog.userChanged(user.getId(), user.getEmail());
         return new MessageResponse("User status updated successfully!");
     }
 
@@ -136,6 +205,8 @@ public class UserServiceImpl implements UserService {
 
         user.setRole(newRole);
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getEmail());
+        changeLog.userChanged(user.getId(), user.getEmail());
         return new MessageResponse("User role updated successfully!");
     }
 
@@ -1,23 +1,45 @@
 package com.netflix.clone.serviceImpl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.clone.cache.ChangeLog;
+import com.netflix.clone.cache.ContentVersionTracker;
+import com.netflix.clone.cache.WatchlistMembershipCache;
 import com.netflix.clone.dao.UserRepository;
 import com.netflix.clone.dao.VideoRepository;
+import com.netflix.clone.dto.request.BulkPublishRequest;
 import com.netflix.clone.dto.request.VideoRequest;
+import com.netflix.clone.dto.response.BulkImportResponse;
+import com.netflix.clone.dto.response.ImportRowError;
 import com.netflix.clone.dto.response.MessageResponse;
 import com.netflix.clone.dto.response.PageResponse;
 import com.netflix.clone.dto.response.VideoResponse;
 import com.netflix.clone.dto.response.VideoStatsResponse;
 import com.netflix.clone.entity.Video;
+import com.netflix.clone.service.FuzzySearchService;
+import com.netflix.clone.service.RecommendationService;
 import com.netflix.clone.service.VideoService;
+import com.netflix.clone.service.ViewTrackingService;
+import com.netflix.clone.service.VideoSuggestionService;
 import com.netflix.clone.util.PaginationUtils;
 import com.netflix.clone.util.ServiceUtils;
+import com.netflix.clone.util.TransactionUtils;
+import com.netflix.clone.util.VideoImportReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 @Service
 public class VideoServiceImpl implements VideoService {
@@ -28,14 +50,63 @@ public class VideoServiceImpl implements VideoService {
 
     private ServiceUtils serviceUtils;
 
-    public VideoServiceImpl(VideoRepository videoRepository, UserRepository userRepository, ServiceUtils serviceUtils) {
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ObjectMapper objectMapper;
+
+    private Validator validator;
+
+    private VideoSuggestionService videoSuggestionService;
+
+    private FuzzySearchService fuzzySearchService;
+
+    private ContentVersionTracker contentVersionTracker;
+
+    private RecommendationService recommendationService;
+
+    private ViewTrackingService viewTrackingService;
+
+    private WatchlistMembershipCache watchlistMembershipCache;
+
+    private ChangeLog changeLog;
+
+    @Value("${app.import.batch-size:500}")
+    private int importBatchSize;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedImportErrors;
+
+    public VideoServiceImpl(VideoRepository videoRepository, UserRepository userRepository, ServiceUtils serviceUtils,
+                            EntityManager entityManager, TransactionTemplate transactionTemplate, ObjectMapper objectMapper, Validator validator,
+                            VideoSuggestionService videoSuggestionService, FuzzySearchService fuzzySearchService,
+                            ContentVersionTracker contentVersionTracker, RecommendationService recommendationService,
+                            ViewTrackingService viewTrackingService, WatchlistMembershipCache watchlistMembershipCache, ChangeLog changeLog) {
         this.videoRepository = videoRepository;
         this.userRepository = userRepository;
         this.serviceUtils = serviceUtils;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.videoSuggestionService = videoSuggestionService;
+        this.fuzzySearchService = fuzzySearchService;
+        this.contentVersionTracker = contentVersionTracker;
+        this.recommendationService = recommendationService;
+        this.viewTrackingService = viewTrackingService;
+        this.watchlistMembershipCache = watchlistMembershipCache;
+        this.changeLog = changeLog;
     }
 
     @Override
     public MessageResponse createVideoByAdmin(VideoRequest videoRequest) {
+        videoRepository.save(buildVideo(videoRequest));
+        onCatalogChanged();
+        return new MessageResponse("Video created successfully!");
+    }
+
+    private Video buildVideo(VideoRequest videoRequest) {
         Video video = new Video();
         video.setTitle(videoRequest.getTitle());
         video.setDescription(videoRequest.getDescription());
@@ -45,12 +116,12 @@ public class VideoServiceImpl implements VideoService {
         video.setSrcUuid(videoRequest.getSrc());
         video.setPosterUuid(videoRequest.getPoster());
         video.setPublished(videoRequest.isPublished());
-        video.setCategories(videoRequest.getCategories() != null ? videoRequest.getCategories() : List.of());
-        videoRepository.save(video);
-        return new MessageResponse("Video created successfully!");
+        video.setCategories(videoRequest.getCategories() != null ? new ArrayList<>(videoRequest.getCategories()) : new ArrayList<>());
+        return video;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<VideoResponse> getAllAdminVideos(int page, int size, String search) {
         Pageable pageable = PaginationUtils.createPageRequest(page, size, "id");
         Page<Video> videoPage;
@@ -77,6 +148,7 @@ public class VideoServiceImpl implements VideoService {
         video.setPublished(videoRequest.isPublished());
         video.setCategories(videoRequest.getCategories() != null ? videoRequest.getCategories() : List.of());
         videoRepository.save(video);
+        onCatalogChanged();
 
         return new MessageResponse("Video updated successfully!");
     }
@@ -87,6 +159,9 @@ public class VideoServiceImpl implements VideoService {
             throw new IllegalArgumentException("Video not found!");
         }
         videoRepository.deleteById(id);
+        recommendationService.videoDeleted(id);
+        onVideosRemoved(List.of(id));
+        onCatalogChanged();
         return new MessageResponse("Video deleted successfully!");
     }
 
@@ -95,10 +170,134 @@ public class VideoServiceImpl implements VideoService {
         Video video = serviceUtils.getVideoByIdOrThrow(id);
         video.setPublished(status);
         videoRepository.save(video);
+        if(!status) {
+            onVideosRemoved(List.of(id));
+        }
+        onCatalogChanged();
         return new MessageResponse("Video publish status updated successfully!");
     }
 
     @Override
+    public BulkImportResponse importVideosByAdmin(InputStream body, String contentType) {
+        ImportSession session = new ImportSession();
+        try {
+            VideoImportReader.read(body, contentType, objectMapper, session);
+        } catch (IllegalArgumentException ex) {
+            // Only an unusable CSV header escapes the reader; it counts as row 1 so failed never exceeds totalRows.
+            session.onRow(1, null, ex.getMessage());
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read import body: " + ex.getMessage(), ex);
+        }
+        session.flush();
+        onCatalogChanged();
+        return session.toResponse();
+    }
+
+    @Override
+    @Transactional
+    public MessageResponse bulkUpdatePublishStatusByAdmin(BulkPublishRequest bulkPublishRequest) {
+        List<Long> ids = bulkPublishRequest.getIds().stream().distinct().toList();
+        int updated = videoRepository.updatePublishedByIds(ids, bulkPublishRequest.isPublished(), Instant.now());
+        if(!bulkPublishRequest.isPublished()) {
+            onVideosRemoved(ids);
+        }
+        onCatalogChanged();
+        return new MessageResponse(updated + " videos updated successfully!");
+    }
+
+    private class ImportSession implements VideoImportReader.RowHandler {
+
+        private final List<Video> pendingVideos = new ArrayList<>();
+        private final List<Long> pendingRows = new ArrayList<>();
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long failed;
+
+        @Override
+        public void onRow(long rowNumber, VideoRequest request, String error) {
+            totalRows++;
+            if(error == null) {
+                error = validate(request);
+            }
+            if(error != null) {
+                reject(rowNumber, error);
+                return;
+            }
+
+            pendingVideos.add(buildVideo(request));
+            pendingRows.add(rowNumber);
+            if(pendingVideos.size() >= importBatchSize) {
+                flush();
+            }
+        }
+
+        private String validate(VideoRequest request) {
+            return validator.validate(request).stream()
+                    .findFirst()
+                    .map(ConstraintViolation::getMessage)
+                    .orElse(null);
+        }
+
+        private void flush() {
+            if(pendingVideos.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(pendingVideos));
+                imported += pendingVideos.size();
+            } catch (RuntimeException ex) {
+                retryRowByRow();
+            }
+            pendingVideos.clear();
+            pendingRows.clear();
+        }
+
+        // One bad row fails the whole JDBC batch, so replay the chunk row by row to pin the error on the right line.
+        private void retryRowByRow() {
+            for(int i = 0; i < pendingVideos.size(); i++) {
+                Video video = pendingVideos.get(i);
+                video.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(video)));
+                    imported++;
+                } catch (RuntimeException ex) {
+                    reject(pendingRows.get(i), NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                }
+            }
+        }
+
+        private void persist(List<Video> videos) {
+            videoRepository.saveAll(videos);
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        private void reject(long rowNumber, String error) {
+            failed++;
+            if(errors.size() < maxReportedImportErrors) {
+                errors.add(new ImportRowError(rowNumber, error));
+            }
+        }
+
+        private BulkImportResponse toResponse() {
+            return new BulkImportResponse(totalRows, imported, failed, errors, failed > errors.size());
+        }
+    }
+
+    private void onVideosRemoved(List<Long> ids) {
+        TransactionUtils.afterCommit(() -> viewTrackingService.videosRemoved(ids));
+    }
+
+    private void onCatalogChanged() {
+        videoSuggestionService.refresh();
+        fuzzySearchService.refreshVideos();
+        contentVersionTracker.catalogChanged();
+        changeLog.catalogChanged();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public VideoStatsResponse getAdminStats() {
         long totalVideos = videoRepository.count();
         long publishedVideos = videoRepository.countPublishedVideos();
@@ -108,39 +307,32 @@ public class VideoServiceImpl implements VideoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<VideoResponse> getPublishedVideos(int page, int size, String search, String email) {
         Pageable pageable = PaginationUtils.createPageRequest(page, size, "id");
         Page<Video> videoPage;
 
         if(search != null && !search.trim().isEmpty()) {
             videoPage = videoRepository.searchPublishedVideos(search.trim(), pageable);
+            if(videoPage.isEmpty() && page == 0) {
+                List<Long> rankedIds = fuzzySearchService.searchPublishedVideoIds(search.trim(), size);
+                videoPage = PaginationUtils.toRankedPage(rankedIds, videoRepository.findPublishedByIds(rankedIds), Video::getId, pageable);
+            }
         } else {
             videoPage = videoRepository.findPublishedVideos(pageable);
         }
 
         List<Video> videos = videoPage.getContent();
-
-        Set<Long> watchlistIds = Set.of();
-        if(!videos.isEmpty()) {
-            try {
-                List<Long> videoIds = videos.stream().map(Video::getId).toList();
-                watchlistIds = userRepository.findWatchlistVideoIds(email, videoIds);
-            } catch (Exception e) {
-                watchlistIds = Set.of();
-            }
-        }
-
-        Set<Long> finalWatchlistIds = watchlistIds;
-        videos.forEach(video -> video.setIsInWatchlist(finalWatchlistIds.contains(video.getId())));
+        watchlistMembershipCache.decorate(email, videos);
 
         List<VideoResponse> videoResponses = videos.stream().map(VideoResponse::fromEntity).toList();
         return PaginationUtils.topageResponse(videoPage, videoResponses);
     }
 
     @Override
-    public List<VideoResponse> getFeaturedVideos() {
-        Pageable pageable = PageRequest.of(0, 5);
-        List<Video> videos = videoRepository.findRandomPublishedVideos(pageable);
+    public List<VideoResponse> getFeaturedVideos(String email) {
+        List<Video> videos = viewTrackingService.findFeaturedVideos(5);
+        watchlistMembershipCache.decorate(email, videos);
 
         return videos.stream().map(VideoResponse::fromEntity).toList();
     }
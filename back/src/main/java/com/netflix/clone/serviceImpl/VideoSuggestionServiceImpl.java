@@ -0,0 +1,88 @@
+package com.netflix.clone.serviceImpl;
+
+import com.netflix.clone.dao.UserRepository;
+import com.netflix.clone.dao.VideoRepository;
+import com.netflix.clone.dto.response.VideoSuggestionResponse;
+import com.netflix.clone.service.VideoSuggestionService;
+import com.netflix.clone.util.TitlePrefixIndex;
+import com.netflix.clone.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class VideoSuggestionServiceImpl implements VideoSuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoSuggestionServiceImpl.class);
+
+    private VideoRepository videoRepository;
+
+    private UserRepository userRepository;
+
+    private volatile TitlePrefixIndex index = TitlePrefixIndex.EMPTY;
+
+    private final AtomicBoolean catalogChanged = new AtomicBoolean(false);
+
+    @Value("${app.suggest.max-limit:20}")
+    private int maxLimit;
+
+    public VideoSuggestionServiceImpl(VideoRepository videoRepository, UserRepository userRepository) {
+        this.videoRepository = videoRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public List<VideoSuggestionResponse> suggest(String query, int limit) {
+        if(query == null || query.isBlank()) {
+            return List.of();
+        }
+        return index.search(query, Math.min(limit, maxLimit)).stream()
+                .map(VideoSuggestionResponse::fromSuggestion)
+                .toList();
+    }
+
+    @Override
+    public void refresh() {
+        TransactionUtils.afterCommit(() -> catalogChanged.set(true));
+    }
+
+    @Scheduled(fixedDelayString = "${app.suggest.catalog-refresh-interval-ms:10000}")
+    public void rebuildIfChanged() {
+        if(catalogChanged.getAndSet(false)) {
+            rebuild();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.suggest.refresh-interval-ms:300000}", fixedDelayString = "${app.suggest.refresh-interval-ms:300000}")
+    public synchronized void rebuild() {
+        try {
+            Map<Long, Long> saves = new HashMap<>();
+            for(Object[] row : userRepository.countWatchlistSavesPerVideo()) {
+                saves.put((Long) row[0], (Long) row[1]);
+            }
+
+            List<TitlePrefixIndex.Document> documents = new ArrayList<>();
+            for(Object[] row : videoRepository.findPublishedTitles()) {
+                Long id = (Long) row[0];
+                long views = (Long) row[3];
+                documents.add(new TitlePrefixIndex.Document(id, (String) row[1], (String) row[2], views + saves.getOrDefault(id, 0L)));
+            }
+            index = TitlePrefixIndex.build(documents);
+            logger.debug("Title suggestion index rebuilt with {} videos", documents.size());
+        } catch (Exception ex) {
+            catalogChanged.set(true);
+            logger.warn("Could not rebuild title suggestion index: {}", ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.netflix.clone.serviceImpl;
+
+import com.netflix.clone.cache.WatchlistMembershipCache;
+import com.netflix.clone.dao.VideoRepository;
+import com.netflix.clone.dto.response.VideoResponse;
+import com.netflix.clone.entity.Video;
+import com.netflix.clone.service.ViewTrackingService;
+import com.netflix.clone.util.TrendingScores;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ViewTrackingServiceImpl implements ViewTrackingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewTrackingServiceImpl.class);
+
+    private VideoRepository videoRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private WatchlistMembershipCache watchlistMembershipCache;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ConcurrentHashMap<String, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    private final TrendingScores trendingScores;
+
+    private volatile List<Long> trendingIds = List.of();
+
+    // Bumped whenever the ranking changes, for ETags of responses built from it.
+    private final AtomicLong trendingVersion = new AtomicLong();
+
+    @Value("${app.trending.max-limit:50}")
+    private int maxLimit;
+
+    public ViewTrackingServiceImpl(VideoRepository videoRepository, JdbcTemplate jdbcTemplate, WatchlistMembershipCache watchlistMembershipCache,
+                                   EntityManagerFactory entityManagerFactory, @Value("${app.trending.half-life-minutes:360}") long halfLifeMinutes) {
+        this.videoRepository = videoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.watchlistMembershipCache = watchlistMembershipCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.trendingScores = new TrendingScores(TimeUnit.MINUTES.toMillis(halfLifeMinutes));
+    }
+
+    @Override
+    public void recordView(String videoUuid) {
+        pendingViews.computeIfAbsent(videoUuid, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public List<Long> getTrendingVideoIds(int limit) {
+        List<Long> ids = trendingIds;
+        return ids.size() > limit ? ids.subList(0, limit) : ids;
+    }
+
+    @Override
+    public long trendingVersion() {
+        return trendingVersion.get();
+    }
+
+    @Override
+    public List<VideoResponse> getTrendingVideos(String email, int limit) {
+        List<Video> videos = loadTrending(Math.min(limit, maxLimit));
+        watchlistMembershipCache.decorate(email, videos);
+        return videos.stream().map(VideoResponse::fromEntity).toList();
+    }
+
+    // Trending titles first, topped up with random published ones while there is little or no view data yet.
+    @Override
+    public List<Video> findFeaturedVideos(int size) {
+        List<Video> featured = new ArrayList<>(loadTrending(size));
+        if(featured.size() < size) {
+            Set<Long> taken = featured.stream().map(Video::getId).collect(Collectors.toSet());
+            for(Video video : videoRepository.findRandomPublishedVideos(PageRequest.of(0, size))) {
+                if(featured.size() < size && taken.add(video.getId())) {
+                    featured.add(video);
+                }
+            }
+        }
+        return featured;
+    }
+
+    private List<Video> loadTrending(int limit) {
+        List<Long> ids = getTrendingVideoIds(limit);
+        if(ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Video> videos = videoRepository.findAllById(ids).stream()
+                .filter(Video::isPublished)
+                .collect(Collectors.toMap(Video::getId, Function.identity()));
+        return ids.stream()
+                .map(videos::get)
+                .filter(video -> video != null)
+                .toList();
+    }
+
+    // Counters are drained by subtracting what was read rather than reset, so views landing mid-flush are kept for
+    // the next round. A failed write puts the drained counts back.
+    @Scheduled(initialDelayString = "${app.trending.flush-interval-ms:10000}", fixedDelayString = "${app.trending.flush-interval-ms:10000}")
+    @PreDestroy
+    public synchronized void flush() {
+        Map<String, Long> drained = new HashMap<>();
+        pendingViews.forEach((uuid, adder) -> {
+            long views = adder.sum();
+            if(views > 0) {
+                adder.add(-views);
+                drained.put(uuid, views);
+            }
+        });
+        if(drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Object[]> batch = new ArrayList<>(drained.size());
+            for(Object[] row : videoRepository.findIdsBySrcUuids(drained.keySet())) {
+                batch.add(new Object[]{drained.get((String) row[1]), row[0]});
+            }
+            jdbcTemplate.batchUpdate("UPDATE videos SET view_count = view_count + ? WHERE id = ?", batch);
+            // The update bypasses Hibernate, so cached copies would keep the old count until they expire.
+            batch.forEach(row -> entityManagerFactory.getCache().evict(Video.class, row[1]));
+
+            long now = System.currentTimeMillis();
+            batch.forEach(row -> trendingScores.add((Long) row[1], (Long) row[0], now));
+            rerank(now);
+        } catch (Exception ex) {
+            logger.warn("Could not flush {} view counters: {}", drained.size(), ex.getMessage(), ex);
+            drained.forEach((uuid, views) -> pendingViews.computeIfAbsent(uuid, key -> new LongAdder()).add(views));
+        }
+    }
+
+    // Deleted and unpublished titles leave the ranking at once instead of decaying out, so the next ones move up.
+    @Override
+    public synchronized void videosRemoved(Collection<Long> videoIds) {
+        videoIds.forEach(trendingScores::remove);
+        rerank(System.currentTimeMillis());
+    }
+
+    private void rerank(long now) {
+        List<Long> ranked = trendingScores.top(maxLimit, now).stream().map(TrendingScores.Ranked::id).toList();
+        if(!ranked.equals(trendingIds)) {
+            trendingIds = ranked;
+            trendingVersion.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.netflix.clone.serviceImpl;
+
+import com.netflix.clone.dao.UserRepository;
+import com.netflix.clone.dao.VideoRepository;
+import com.netflix.clone.enums.ViewingEventType;
+import com.netflix.clone.service.ViewingHistoryService;
+import com.netflix.clone.util.EventRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class ViewingHistoryServiceImpl implements ViewingHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewingHistoryServiceImpl.class);
+
+    private static final String INSERT_SQL = "INSERT INTO viewing_history (user_id, video_id, event_type, position_seconds, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private UserRepository userRepository;
+
+    private VideoRepository videoRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    // Play starts only know the viewer id and media uuid, stops only the email and video id; the writer resolves the rest.
+    private record PendingEvent(ViewingEventType type, Long userId, String email, Long videoId, String videoUuid, Integer positionSeconds,
+                                long occurredAt) {}
+
+    private record ResolvedEvent(long userId, long videoId, PendingEvent event) {}
+
+    private final EventRingBuffer<PendingEvent> buffer;
+
+    private final Counter written;
+    private final Counter failed;
+    private final Counter unresolved;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${app.history.batch-size:1000}")
+    private int batchSize;
+
+    public ViewingHistoryServiceImpl(UserRepository userRepository, VideoRepository videoRepository, JdbcTemplate jdbcTemplate,
+                                     MeterRegistry meterRegistry, @Value("${app.history.buffer-capacity:65536}") int bufferCapacity) {
+        this.userRepository = userRepository;
+        this.videoRepository = videoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new EventRingBuffer<>(bufferCapacity);
+
+        Gauge.builder("viewing.history.backlog", buffer, EventRingBuffer::size).register(meterRegistry);
+        Gauge.builder("viewing.history.lag", lagMillis, AtomicLong::get).baseUnit("milliseconds").register(meterRegistry);
+        FunctionCounter.builder("viewing.history.dropped", buffer, EventRingBuffer::dropped).register(meterRegistry);
+        this.written = meterRegistry.counter("viewing.history.written");
+        this.failed = meterRegistry.counter("viewing.history.failed");
+        this.unresolved = meterRegistry.counter("viewing.history.unresolved");
+    }
+
+    @Override
+    public void recordPlayStart(Long userId, String videoUuid) {
+        if(userId != null) {
+            buffer.offer(new PendingEvent(ViewingEventType.PLAY_START, userId, null, null, videoUuid, null, System.currentTimeMillis()));
+        }
+    }
+
+    @Override
+    public void recordPlayStop(String email, Long videoId, int positionSeconds) {
+        buffer.offer(new PendingEvent(ViewingEventType.PLAY_STOP, null, email, videoId, null, positionSeconds, System.currentTimeMillis()));
+    }
+
+    @Scheduled(initialDelayString = "${app.history.drain-interval-ms:500}", fixedDelayString = "${app.history.drain-interval-ms:500}")
+    @PreDestroy
+    public synchronized void drain() {
+        if(buffer.size() == 0) {
+            lagMillis.set(0);
+            return;
+        }
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while(buffer.drain(batch::add, batchSize) > 0) {
+            lagMillis.set(System.currentTimeMillis() - batch.get(0).occurredAt());
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingEvent> batch) {
+        try {
+            List<ResolvedEvent> resolved = resolve(batch);
+            unresolved.increment(batch.size() - resolved.size());
+            if(resolved.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, resolved, resolved.size(), (ps, item) -> {
+                ps.setLong(1, item.userId());
+                ps.setLong(2, item.videoId());
+                ps.setString(3, item.event().type().name());
+                if(item.event().positionSeconds() != null) {
+                    ps.setInt(4, item.event().positionSeconds());
+                } else {
+                    ps.setNull(4, Types.INTEGER);
+                }
+                ps.setTimestamp(5, new Timestamp(item.event().occurredAt()));
+            });
+            written.increment(resolved.size());
+        } catch (Exception ex) {
+            failed.increment(batch.size());
+            logger.warn("Could not write {} viewing history events: {}", batch.size(), ex.getMessage(), ex);
+        }
+    }
+
+    private List<ResolvedEvent> resolve(List<PendingEvent> batch) {
+        Set<String> emails = new HashSet<>();
+        Set<String> uuids = new HashSet<>();
+        for(PendingEvent event : batch) {
+            if(event.userId() == null) {
+                emails.add(event.email());
+            }
+            if(event.videoId() == null) {
+                uuids.add(event.videoUuid());
+            }
+        }
+
+        Map<String, Long> userIds = new HashMap<>();
+        if(!emails.isEmpty()) {
+            userRepository.findIdsByEmails(emails).forEach(row -> userIds.put((String) row[0], (Long) row[1]));
+        }
+        Map<String, Long> videoIds = new HashMap<>();
+        if(!uuids.isEmpty()) {
+            videoRepository.findIdsBySrcUuids(uuids).forEach(row -> videoIds.put((String) row[1], (Long) row[0]));
+        }
+
+        List<ResolvedEvent> resolved = new ArrayList<>(batch.size());
+        for(PendingEvent event : batch) {
+            Long userId = event.userId() != null ? event.userId() : userIds.get(event.email());
+            Long videoId = event.videoId() != null ? event.videoId() : videoIds.get(event.videoUuid());
+            if(userId != null && videoId != null) {
+                resolved.add(new ResolvedEvent(userId, videoId, event));
+            }
+        }
+        return resolved;
+    }
+}
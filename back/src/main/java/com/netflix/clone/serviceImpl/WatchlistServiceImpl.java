@@ -1,19 +1,39 @@
 package com.netflix.clone.serviceImpl;
 
+import com.netflix.clone.cache.ChangeLog;
+import com.netflix.clone.cache.ContentVersionTracker;
+import com.netflix.clone.cache.WatchlistMembershipCache;
 import com.netflix.clone.dao.UserRepository;
 import com.netflix.clone.dao.VideoRepository;
+import com.netflix.clone.dao.WatchlistEntryRepository;
+import com.netflix.clone.dto.request.WatchlistBatchRequest;
+import com.netflix.clone.dto.response.CursorPageResponse;
 import com.netflix.clone.dto.response.MessageResponse;
 import com.netflix.clone.dto.response.PageResponse;
 import com.netflix.clone.dto.response.VideoResponse;
-import com.netflix.clone.entity.User;
+import com.netflix.clone.dto.response.WatchlistBatchResponse;
 import com.netflix.clone.entity.Video;
+import com.netflix.clone.exception.ResourceNotFoundException;
+import com.netflix.clone.service.RecommendationService;
 import com.netflix.clone.service.WatchlistService;
 import com.netflix.clone.util.PaginationUtils;
 import com.netflix.clone.util.ServiceUtils;
+import com.netflix.clone.util.WatchlistCursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class WatchlistServiceImpl implements WatchlistService {
@@ -24,49 +44,177 @@ public class WatchlistServiceImpl implements WatchlistService {
 
     private ServiceUtils serviceUtils;
 
-    public WatchlistServiceImpl(UserRepository userRepository, VideoRepository videoRepository,  ServiceUtils serviceUtils) {
+    private ContentVersionTracker contentVersionTracker;
+
+    private RecommendationService recommendationService;
+
+    private WatchlistMembershipCache watchlistMembershipCache;
+
+    private WatchlistEntryRepository watchlistEntryRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ChangeLog changeLog;
+
+    @Value("${app.watchlist.max-page-size:100}")
+    private int maxPageSize;
+
+    public WatchlistServiceImpl(UserRepository userRepository, VideoRepository videoRepository,  ServiceUtils serviceUtils,
+                                ContentVersionTracker contentVersionTracker, RecommendationService recommendationService,
+                                WatchlistMembershipCache watchlistMembershipCache, WatchlistEntryRepository watchlistEntryRepository,
+                                JdbcTemplate jdbcTemplate, ChangeLog changeLog) {
         this.userRepository = userRepository;
         this.videoRepository = videoRepository;
         this.serviceUtils = serviceUtils;
+        this.contentVersionTracker = contentVersionTracker;
+        this.recommendationService = recommendationService;
+        this.watchlistMembershipCache = watchlistMembershipCache;
+        this.watchlistEntryRepository = watchlistEntryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeLog = changeLog;
     }
 
+    // INSERT IGNORE keeps the add idempotent and race-free; only when nothing was inserted do we look at the video,
+    // to tell "already saved" apart from "no such video".
     @Override
+    @Transactional
     public MessageResponse addToWatchlist(String email, Long videoId) {
-        User user = serviceUtils.getUserByEmailOrThrow(email);
+        Long userId = userIdOrThrow(email);
 
-        Video video = serviceUtils.getVideoByIdOrThrow(videoId);
+        if(userRepository.insertWatchlistEntry(userId, videoId) == 0) {
+            if(!videoRepository.existsById(videoId)) {
+                throw new ResourceNotFoundException("Video not found with id: " + videoId);
+            }
+            return new MessageResponse("Video added to Watchlist");
+        }
 
-        user.addToWatchlist(video);
-        userRepository.save(user);
+        contentVersionTracker.watchlistChanged(email);
+        changeLog.watchlistChanged(email);
+        watchlistMembershipCache.added(email, videoId);
+        recommendationService.watchlistItemAdded(userId, videoId);
         return new MessageResponse("Video added to Watchlist");
     }
 
     @Override
+    @Transactional
     public MessageResponse removeFromWatchlist(String email, Long videoId) {
-        User user = serviceUtils.getUserByEmailOrThrow(email);
+        Long userId = userIdOrThrow(email);
 
-        Video video = serviceUtils.getVideoByIdOrThrow(videoId);
-
-        user.removeFromWatchlist(video);
-        userRepository.save(user);
+        if(userRepository.deleteWatchlistEntry(userId, videoId) > 0) {
+            contentVersionTracker.watchlistChanged(email);
+            changeLog.watchlistChanged(email);
+            watchlistMembershipCache.removed(email, videoId);
+            recommendationService.watchlistItemRemoved(userId, videoId);
+        }
 
         return new MessageResponse("Video removed from Watchlist");
     }
 
+    // Two lookups decide what actually changes (which videos exist, which are already saved), then the inserts and
+    // deletes go out as one JDBC batch each, all in one transaction.
     @Override
+    @Transactional
+    public WatchlistBatchResponse applyBatch(String email, WatchlistBatchRequest request) {
+        Long userId = userIdOrThrow(email);
+        Set<Long> toAdd = distinctIds(request.getAdd());
+        Set<Long> toRemove = distinctIds(request.getRemove());
+        toRemove.removeAll(toAdd);
+
+        Set<Long> requested = new HashSet<>(toAdd);
+        requested.addAll(toRemove);
+        if(requested.isEmpty()) {
+            return new WatchlistBatchResponse(List.of(), List.of(), List.of());
+        }
+        Set<Long> saved = watchlistEntryRepository.findSavedVideoIds(userId, requested);
+        Set<Long> existing = toAdd.isEmpty() ? Set.of() : videoRepository.findExistingIds(toAdd);
+
+        List<Long> notFound = toAdd.stream().filter(id -> !existing.contains(id)).toList();
+        List<Long> added = toAdd.stream().filter(id -> existing.contains(id) && !saved.contains(id)).toList();
+        List<Long> removed = toRemove.stream().filter(saved::contains).toList();
+
+        if(added.isEmpty() && removed.isEmpty()) {
+            return new WatchlistBatchResponse(added, removed, notFound);
+        }
+        if(!added.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO user_watchlist (user_id, video_id) VALUES (?, ?)", added, added.size(),
+                    (ps, videoId) -> {
+                        ps.setLong(1, userId);
+                        ps.setLong(2, videoId);
+                    });
+        }
+        if(!removed.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM user_watchlist WHERE user_id = ? AND video_id = ?", removed, removed.size(),
+                    (ps, videoId) -> {
+                        ps.setLong(1, userId);
+                        ps.setLong(2, videoId);
+                    });
+        }
+
+        contentVersionTracker.watchlistChanged(email);
+        changeLog.watchlistChanged(email);
+        added.forEach(videoId -> watchlistMembershipCache.added(email, videoId));
+        removed.forEach(videoId -> watchlistMembershipCache.removed(email, videoId));
+        recommendationService.watchlistItemsChanged(userId, added.stream().mapToLong(Long::longValue).toArray(),
+                removed.stream().mapToLong(Long::longValue).toArray());
+        return new WatchlistBatchResponse(added, removed, notFound);
+    }
+
+    private Set<Long> distinctIds(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        if(ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(distinct::add);
+        }
+        return distinct;
+    }
+
+    private Long userIdOrThrow(String email) {
+        return serviceUtils.getUserSnapshotByEmailOrThrow(email).id();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResponse<VideoResponse> getWatchlistPaginated(String email, int page, int size, String search) {
 
-        User user =  serviceUtils.getUserByEmailOrThrow(email);
+        Long userId = userIdOrThrow(email);
 
         Pageable pageable = PaginationUtils.createPageRequest(page, size);
         Page<Video> videoPage;
 
         if(search != null && !search.trim().isEmpty()) {
-            videoPage = userRepository.searchWatchlistByUserId(user.getId(), search.trim(), pageable);
+            videoPage = userRepository.searchWatchlistByUserId(userId, search.trim(), pageable);
         } else {
-            videoPage = userRepository.findWatchlistByUserId(user.getId(), pageable);
+            videoPage = watchlistEntryRepository.findRecentByUserId(userId, pageable);
         }
 
         return PaginationUtils.topageResponse(videoPage, VideoResponse::fromEntity);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<VideoResponse> getRecentWatchlist(String email, String cursor, int size) {
+        Long userId = userIdOrThrow(email);
+        Pageable limit = PageRequest.of(0, Math.max(1, Math.min(size, maxPageSize)));
+
+        List<Object[]> rows;
+        if(cursor == null || cursor.isBlank()) {
+            rows = watchlistEntryRepository.findFirstKeysetPage(userId, limit);
+        } else {
+            WatchlistCursor after = WatchlistCursor.decode(cursor);
+            rows = watchlistEntryRepository.findKeysetPageAfter(userId, after.addedAt(), after.videoId(), limit);
+        }
+
+        List<VideoResponse> videos = new ArrayList<>(rows.size());
+        for(Object[] row : rows) {
+            Video video = (Video) row[0];
+            video.setIsInWatchlist(true);
+            videos.add(VideoResponse.fromEntity(video));
+        }
+
+        String nextCursor = null;
+        if(rows.size() == limit.getPageSize()) {
+            Object[] last = rows.get(rows.size() - 1);
+            nextCursor = new WatchlistCursor((Instant) last[1], ((Video) last[0]).getId()).encode();
+        }
+        return new CursorPageResponse<>(videos, nextCursor);
+    }
 }
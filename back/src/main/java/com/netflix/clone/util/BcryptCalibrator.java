@@ -0,0 +1,31 @@
+package com.netflix.clone.util;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+public class BcryptCalibrator {
+
+    private BcryptCalibrator(){}
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    /**
+     * Picks the highest bcrypt strength whose hash time stays within the target on this machine. Each strength step
+     * doubles the work, so one timed hash at the minimum strength is enough to extrapolate.
+     */
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        hash(minStrength);
+        long nanos = Long.MAX_VALUE;
+        for(int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            hash(minStrength);
+            nanos = Math.min(nanos, System.nanoTime() - start);
+        }
+        double budget = targetMillis * 1_000_000.0 / Math.max(1, nanos);
+        int steps = budget < 1 ? 0 : (int) Math.floor(Math.log(budget) / Math.log(2));
+        return Math.min(maxStrength, minStrength + steps);
+    }
+
+    public static String hash(int strength) {
+        return BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(strength));
+    }
+}
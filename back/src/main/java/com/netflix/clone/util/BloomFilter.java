@@ -0,0 +1,68 @@
+package com.netflix.clone.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent bloom filter over long and string keys. Bits are set with CAS, so adds never block lookups; bits are
+ * never cleared, so owners rebuild a fresh filter to forget entries. Probes use double hashing of one 64-bit hash.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(long key) {
+        putHash(HashUtils.mix64(key));
+    }
+
+    public void put(String key) {
+        putHash(HashUtils.hash64(key));
+    }
+
+    public boolean mightContain(long key) {
+        return mightContainHash(HashUtils.mix64(key));
+    }
+
+    public boolean mightContain(String key) {
+        return mightContainHash(HashUtils.hash64(key));
+    }
+
+    private void putHash(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for(int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if((current & mask) != 0) {
+                    break;
+                }
+            } while(!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    private boolean mightContainHash(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for(int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
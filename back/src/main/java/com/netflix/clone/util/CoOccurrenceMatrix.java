@@ -0,0 +1,136 @@
+package com.netflix.clone.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sparse symmetric item co-occurrence counts: how many users saved both A and B, plus how many saved each item.
+ * Similarity is the cosine of the two items' user sets. Not thread-safe; callers guard it with a read/write lock.
+ */
+public class CoOccurrenceMatrix {
+
+    private final LongObjectHashMap<LongIntHashMap> pairCounts = new LongObjectHashMap<>(1024);
+    private final LongIntHashMap itemCounts = new LongIntHashMap(1024);
+
+    public record Scored(long id, double score, long becauseOf) {}
+
+    private static final Comparator<Scored> BY_SCORE = Comparator.comparingDouble(Scored::score).thenComparingLong(scored -> -scored.id());
+
+    public void add(long item, long[] otherItems) {
+        itemCounts.addTo(item, 1);
+        for(long other : otherItems) {
+            if(other != item) {
+                adjustPair(item, other, 1);
+                adjustPair(other, item, 1);
+            }
+        }
+    }
+
+    public void remove(long item, long[] otherItems) {
+        if(itemCounts.get(item) <= 0) {
+            return;
+        }
+        itemCounts.addTo(item, -1);
+        for(long other : otherItems) {
+            if(other != item) {
+                adjustPair(item, other, -1);
+                adjustPair(other, item, -1);
+            }
+        }
+    }
+
+    public void clear(long item) {
+        LongIntHashMap neighbours = pairCounts.get(item);
+        if(neighbours != null) {
+            neighbours.forEach((other, count) -> adjustPair(other, item, -count));
+            pairCounts.remove(item);
+        }
+        itemCounts.remove(item);
+    }
+
+    private void adjustPair(long from, long to, int delta) {
+        LongIntHashMap neighbours = pairCounts.get(from);
+        if(neighbours == null) {
+            if(delta <= 0) {
+                return;
+            }
+            neighbours = new LongIntHashMap(4);
+            pairCounts.put(from, neighbours);
+        }
+        // Removals can name pairs that were never counted (the bootstrap truncates each user's items), so counts stop at zero.
+        int updated = neighbours.get(to) + delta;
+        if(updated > 0) {
+            neighbours.put(to, updated);
+        } else {
+            neighbours.remove(to);
+        }
+        if(neighbours.isEmpty()) {
+            pairCounts.remove(from);
+        }
+    }
+
+    public List<Scored> similar(long item, int limit) {
+        LongIntHashMap neighbours = pairCounts.get(item);
+        if(neighbours == null || limit <= 0) {
+            return List.of();
+        }
+        double itemCount = itemCounts.get(item);
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, BY_SCORE);
+        neighbours.forEach((other, count) -> offer(top, limit,
+                new Scored(other, count / Math.sqrt(itemCount * itemCounts.get(other)), item)));
+        return drain(top);
+    }
+
+    /**
+     * Sums the similarity contributed by every saved item and remembers the strongest contributor, which is the
+     * "because you saved" title for that recommendation.
+     */
+    public List<Scored> recommend(long[] savedItems, int limit) {
+        if(savedItems.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        long[] saved = savedItems.clone();
+        Arrays.sort(saved);
+
+        LongObjectHashMap<double[]> candidates = new LongObjectHashMap<>(64);
+        for(long item : saved) {
+            LongIntHashMap neighbours = pairCounts.get(item);
+            if(neighbours == null) {
+                continue;
+            }
+            double itemCount = itemCounts.get(item);
+            neighbours.forEach((other, count) -> {
+                if(Arrays.binarySearch(saved, other) >= 0) {
+                    return;
+                }
+                double similarity = count / Math.sqrt(itemCount * itemCounts.get(other));
+                double[] candidate = candidates.computeIfAbsent(other, key -> new double[]{0, 0, 0});
+                candidate[0] += similarity;
+                if(similarity > candidate[1]) {
+                    candidate[1] = similarity;
+                    candidate[2] = item;
+                }
+            });
+        }
+
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, BY_SCORE);
+        candidates.forEach((id, candidate) -> offer(top, limit, new Scored(id, candidate[0], (long) candidate[2])));
+        return drain(top);
+    }
+
+    private static void offer(PriorityQueue<Scored> top, int limit, Scored scored) {
+        top.offer(scored);
+        if(top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private static List<Scored> drain(PriorityQueue<Scored> top) {
+        List<Scored> result = new ArrayList<>(top);
+        result.sort(BY_SCORE.reversed());
+        return result;
+    }
+}
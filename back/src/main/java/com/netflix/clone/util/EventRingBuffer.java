@@ -0,0 +1,86 @@
+package com.netflix.clone.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer. Every slot carries a sequence number: producers
+ * claim a position with one CAS and publish by advancing the slot's sequence, the consumer frees a slot by moving
+ * its sequence one lap ahead. A full buffer never blocks a producer; the event is dropped and counted instead.
+ */
+public class EventRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<T> slots;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final LongAdder dropped = new LongAdder();
+
+    public EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        slots = new AtomicReferenceArray<>(size);
+        for(int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(T event) {
+        while(true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long gap = sequences.get(index) - position;
+            if(gap == 0) {
+                if(tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if(gap < 0) {
+                dropped.increment();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Hands up to max published events to the consumer in order. Must only be called from one thread at a time.
+     */
+    public int drain(Consumer<T> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while(drained < max) {
+            int index = (int) position & mask;
+            if(sequences.get(index) != position + 1) {
+                break;
+            }
+            T event = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+            consumer.accept(event);
+        }
+        head = position;
+        return drained;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long size() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,127 @@
+package com.netflix.clone.util;
+
+/**
+ * Open-addressing set of longs, laid out like {@link LongIntHashMap} without the value array. Not thread-safe.
+ */
+public class LongHashSet {
+
+    private static final long FREE = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+
+    private boolean hasFreeKey;
+
+    public LongHashSet() {
+        this(8);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = LongIntHashMap.capacityFor(expectedSize);
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size + (hasFreeKey ? 1 : 0);
+    }
+
+    public boolean contains(long key) {
+        if(key == FREE) {
+            return hasFreeKey;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean add(long key) {
+        if(key == FREE) {
+            boolean added = !hasFreeKey;
+            hasFreeKey = true;
+            return added;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if(++size > keys.length * LOAD_FACTOR) {
+            resize(keys.length * 2);
+        }
+        return true;
+    }
+
+    public boolean remove(long key) {
+        if(key == FREE) {
+            boolean removed = hasFreeKey;
+            hasFreeKey = false;
+            return removed;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size()];
+        int index = 0;
+        if(hasFreeKey) {
+            result[index++] = FREE;
+        }
+        for(long key : keys) {
+            if(key != FREE) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    private void shiftBack(int removed) {
+        int gap = removed;
+        int slot = (gap + 1) & mask;
+        while(keys[slot] != FREE) {
+            int home = slot(keys[slot]);
+            boolean movable = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+            if(movable) {
+                keys[gap] = keys[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = FREE;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        keys = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for(long key : oldKeys) {
+            if(key != FREE) {
+                add(key);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        return HashUtils.mix(key) & mask;
+    }
+}
@@ -0,0 +1,172 @@
+package com.netflix.clone.util;
+
+/**
+ * Open-addressing long to int map with linear probing and backward-shift deletion, so there are no boxed keys,
+ * no entry objects and no tombstones. Not thread-safe.
+ */
+public class LongIntHashMap {
+
+    private static final long FREE = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    public LongIntHashMap() {
+        this(8);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size + (hasFreeKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int get(long key) {
+        if(key == FREE) {
+            return hasFreeKey ? freeKeyValue : 0;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    public boolean containsKey(long key) {
+        if(key == FREE) {
+            return hasFreeKey;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public void put(long key, int value) {
+        if(key == FREE) {
+            hasFreeKey = true;
+            freeKeyValue = value;
+            return;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if(++size > keys.length * LOAD_FACTOR) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Adds delta to the current value (0 when absent) and drops the entry once it reaches zero.
+     */
+    public int addTo(long key, int delta) {
+        int updated = get(key) + delta;
+        if(updated == 0) {
+            remove(key);
+        } else {
+            put(key, updated);
+        }
+        return updated;
+    }
+
+    public void remove(long key) {
+        if(key == FREE) {
+            hasFreeKey = false;
+            freeKeyValue = 0;
+            return;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if(hasFreeKey) {
+            consumer.accept(FREE, freeKeyValue);
+        }
+        for(int slot = 0; slot < keys.length; slot++) {
+            if(keys[slot] != FREE) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private void shiftBack(int removed) {
+        int gap = removed;
+        int slot = (gap + 1) & mask;
+        while(keys[slot] != FREE) {
+            int home = slot(keys[slot]);
+            boolean movable = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+            if(movable) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = FREE;
+        values[gap] = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        return HashUtils.mix(key) & mask;
+    }
+
+    static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(2, expectedSize) / LOAD_FACTOR);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,146 @@
+package com.netflix.clone.util;
+
+import java.util.function.LongFunction;
+
+/**
+ * Open-addressing long to object map; the primitive-key counterpart of {@link LongIntHashMap}. Not thread-safe.
+ */
+public class LongObjectHashMap<V> {
+
+    private static final long FREE = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    private V freeKeyValue;
+
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    public LongObjectHashMap() {
+        this(8);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = LongIntHashMap.capacityFor(expectedSize);
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size + (freeKeyValue != null ? 1 : 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if(key == FREE) {
+            return freeKeyValue;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public V computeIfAbsent(long key, LongFunction<V> factory) {
+        V value = get(key);
+        if(value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(long key, V value) {
+        if(key == FREE) {
+            freeKeyValue = value;
+            return;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if(++size > keys.length * LOAD_FACTOR) {
+            resize(keys.length * 2);
+        }
+    }
+
+    public void remove(long key) {
+        if(key == FREE) {
+            freeKeyValue = null;
+            return;
+        }
+        int slot = slot(key);
+        while(keys[slot] != FREE) {
+            if(keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<V> consumer) {
+        if(freeKeyValue != null) {
+            consumer.accept(FREE, freeKeyValue);
+        }
+        for(int slot = 0; slot < keys.length; slot++) {
+            if(keys[slot] != FREE) {
+                consumer.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    private void shiftBack(int removed) {
+        int gap = removed;
+        int slot = (gap + 1) & mask;
+        while(keys[slot] != FREE) {
+            int home = slot(keys[slot]);
+            boolean movable = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+            if(movable) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = FREE;
+        values[gap] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != FREE) {
+                put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        return HashUtils.mix(key) & mask;
+    }
+}
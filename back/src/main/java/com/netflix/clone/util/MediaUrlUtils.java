@@ -0,0 +1,47 @@
+package com.netflix.clone.util;
+
+import com.netflix.clone.security.MediaUrlSigner;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+public class MediaUrlUtils {
+
+    private MediaUrlUtils(){}
+
+    public static String videoUrl(String uuid) {
+        return buildUrl("video", uuid);
+    }
+
+    public static String imageUrl(String uuid) {
+        return buildUrl("image", uuid);
+    }
+
+    private static String buildUrl(String type, String uuid) {
+        if(uuid == null || uuid.isEmpty()) {
+            return null;
+        }
+        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        String path = "/api/files/" + type + "/" + uuid;
+        MediaUrlSigner.Grant grant = currentGrant();
+        return grant != null ? baseUrl + path + "?" + grant.sign(path) : baseUrl + path;
+    }
+
+    /**
+     * Version of the signed URLs this request would embed, or null for unsigned ones. Responses carrying media URLs
+     * put it in their ETag, so a 304 never hands back URLs that expire sooner than freshly signed ones.
+     */
+    public static String signingVersion() {
+        MediaUrlSigner.Grant grant = currentGrant();
+        return grant != null ? grant.version() : null;
+    }
+
+    // Set by the JWT filter for authenticated requests, so every media URL in a response is signed for its viewer.
+    private static MediaUrlSigner.Grant currentGrant() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if(attributes == null) {
+            return null;
+        }
+        return (MediaUrlSigner.Grant) attributes.getAttribute(MediaUrlSigner.GRANT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
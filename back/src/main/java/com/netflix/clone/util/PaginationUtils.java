@@ -2,12 +2,16 @@ package com.netflix.clone.util;
 
 import com.netflix.clone.dto.response.PageResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class PaginationUtils {
 
@@ -31,4 +35,9 @@ public class PaginationUtils {
         return new PageResponse<>(mappedContent, page.getTotalElements(), page.getTotalPages(), page.getNumber(), page.getSize());
     }
 
+    public static <T> Page<T> toRankedPage(List<Long> rankedIds, List<T> rows, Function<T, Long> idMapper, Pageable pageable) {
+        Map<Long, T> rowsById = rows.stream().collect(Collectors.toMap(idMapper, Function.identity()));
+        List<T> ordered = rankedIds.stream().map(rowsById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ordered, pageable, ordered.size());
+    }
 }
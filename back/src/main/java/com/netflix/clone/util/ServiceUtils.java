@@ -1,5 +1,7 @@
 package com.netflix.clone.util;
 
+import com.netflix.clone.cache.UserSnapshot;
+import com.netflix.clone.cache.UserSnapshotCache;
 import com.netflix.clone.dao.UserRepository;
 import com.netflix.clone.dao.VideoRepository;
 import com.netflix.clone.entity.User;
@@ -12,10 +14,18 @@ public class ServiceUtils {
 
     private UserRepository userRepository;
     private VideoRepository videoRepository;
+    private UserSnapshotCache userSnapshotCache;
 
-    public ServiceUtils(UserRepository userRepository, VideoRepository videoRepository) {
+    public ServiceUtils(UserRepository userRepository, VideoRepository videoRepository, UserSnapshotCache userSnapshotCache) {
         this.userRepository = userRepository;
         this.videoRepository = videoRepository;
+        this.userSnapshotCache = userSnapshotCache;
+    }
+
+    // For callers that only need the id, name or role; load the entity only when it is going to be modified.
+    public UserSnapshot getUserSnapshotByEmailOrThrow(String email) {
+        return userSnapshotCache.get(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
     public User getUserByEmailOrThrow(String email) {
@@ -0,0 +1,94 @@
+package com.netflix.clone.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Approximate per-key event counts over a sliding window, in fixed memory regardless of how many keys are seen.
+ * Each window is a count-min sketch of atomic counters; the sliding count weights the previous window by how much of
+ * it still overlaps. Estimates can overshoot on hash collisions but never undercount.
+ */
+public class SlidingWindowSketch {
+
+    private record Window(long start, AtomicIntegerArray counts) {}
+
+    private record Windows(Window current, Window previous) {}
+
+    private final int width;
+    private final int depth;
+    private final long windowMillis;
+    private final AtomicReference<Windows> windows;
+
+    public SlidingWindowSketch(int width, int depth, long windowMillis) {
+        this.width = width;
+        this.depth = depth;
+        this.windowMillis = windowMillis;
+        this.windows = new AtomicReference<>(new Windows(newWindow(Long.MIN_VALUE), newWindow(Long.MIN_VALUE)));
+    }
+
+    /**
+     * Counts one event for the key and returns the sliding count including it.
+     */
+    public double increment(String key, long nowMillis) {
+        Windows current = windowsAt(nowMillis);
+        long hash = HashUtils.hash64(key);
+        int min = Integer.MAX_VALUE;
+        for(int row = 0; row < depth; row++) {
+            min = Math.min(min, current.current().counts().incrementAndGet(index(hash, row)));
+        }
+        return min + weightedPrevious(current, hash, nowMillis);
+    }
+
+    public double estimate(String key, long nowMillis) {
+        Windows current = windowsAt(nowMillis);
+        long hash = HashUtils.hash64(key);
+        return minCount(current.current(), hash) + weightedPrevious(current, hash, nowMillis);
+    }
+
+    public long windowMillis() {
+        return windowMillis;
+    }
+
+    private double weightedPrevious(Windows current, long hash, long nowMillis) {
+        Window previous = current.previous();
+        if(previous.start() != current.current().start() - windowMillis) {
+            return 0;
+        }
+        double overlap = 1.0 - (double) (nowMillis - current.current().start()) / windowMillis;
+        return overlap * minCount(previous, hash);
+    }
+
+    private int minCount(Window window, long hash) {
+        int min = Integer.MAX_VALUE;
+        for(int row = 0; row < depth; row++) {
+            min = Math.min(min, window.counts().get(index(hash, row)));
+        }
+        return min;
+    }
+
+    // Rotation happens once per window; a losing CAS simply rereads the winner's windows.
+    private Windows windowsAt(long nowMillis) {
+        long start = nowMillis - Math.floorMod(nowMillis, windowMillis);
+        while(true) {
+            Windows current = windows.get();
+            if(current.current().start() >= start) {
+                return current;
+            }
+            Window previous = current.current().start() == start - windowMillis ? current.current() : newWindow(Long.MIN_VALUE);
+            Windows rotated = new Windows(newWindow(start), previous);
+            if(windows.compareAndSet(current, rotated)) {
+                return rotated;
+            }
+        }
+    }
+
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return row * width + Math.floorMod(h1 + row * h2, width);
+    }
+
+    private Window newWindow(long start) {
+        return new Window(start, new AtomicIntegerArray(width * depth));
+    }
+}
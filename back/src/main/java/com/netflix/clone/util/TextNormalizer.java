@@ -0,0 +1,31 @@
+package com.netflix.clone.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final String[] NO_TOKENS = new String[0];
+
+    private TextNormalizer(){}
+
+    public static String normalize(String text) {
+        if(text == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static String[] tokens(String text) {
+        String normalized = normalize(text);
+        if(normalized.isEmpty()) {
+            return NO_TOKENS;
+        }
+        return Arrays.stream(normalized.split(" ")).distinct().toArray(String[]::new);
+    }
+}
@@ -0,0 +1,162 @@
+package com.netflix.clone.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable prefix index over normalized title tokens. Every (token, document) pair is stored in one array sorted
+ * by token, so a prefix is a contiguous slice found by two binary searches. Documents are numbered by rank and a
+ * min segment tree over that slice hands out the best-ranked matches first, so short prefixes that match most of
+ * the catalog cost O(limit log n) instead of a full scan.
+ */
+public final class TitlePrefixIndex {
+
+    public static final TitlePrefixIndex EMPTY = build(List.of());
+
+    private final long[] ids;
+    private final String[] titles;
+    private final String[] posterUuids;
+    private final String[][] documentTokens;
+
+    private final String[] tokens;
+    private final int leafOffset;
+    private final int[] rankTree;
+
+    public record Document(long id, String title, String posterUuid, double popularity) {}
+
+    public record Suggestion(long id, String title, String posterUuid) {}
+
+    private TitlePrefixIndex(long[] ids, String[] titles, String[] posterUuids, String[][] documentTokens,
+                             String[] tokens, int leafOffset, int[] rankTree) {
+        this.ids = ids;
+        this.titles = titles;
+        this.posterUuids = posterUuids;
+        this.documentTokens = documentTokens;
+        this.tokens = tokens;
+        this.leafOffset = leafOffset;
+        this.rankTree = rankTree;
+    }
+
+    public static TitlePrefixIndex build(List<Document> documents) {
+        List<Document> ranked = new ArrayList<>(documents);
+        ranked.sort(Comparator.comparingDouble(Document::popularity).reversed()
+                .thenComparing(Document::title, String.CASE_INSENSITIVE_ORDER));
+
+        int size = ranked.size();
+        long[] ids = new long[size];
+        String[] titles = new String[size];
+        String[] posterUuids = new String[size];
+        String[][] documentTokens = new String[size][];
+
+        List<Posting> postings = new ArrayList<>();
+        for(int rank = 0; rank < size; rank++) {
+            Document document = ranked.get(rank);
+            ids[rank] = document.id();
+            titles[rank] = document.title();
+            posterUuids[rank] = document.posterUuid();
+            documentTokens[rank] = TextNormalizer.tokens(document.title());
+            for(String token : documentTokens[rank]) {
+                postings.add(new Posting(token, rank));
+            }
+        }
+        postings.sort(Comparator.comparing(Posting::token).thenComparingInt(Posting::rank));
+
+        String[] tokens = new String[postings.size()];
+        int leafOffset = Integer.highestOneBit(Math.max(1, postings.size()) * 2 - 1);
+        int[] rankTree = new int[leafOffset * 2];
+        Arrays.fill(rankTree, Integer.MAX_VALUE);
+        for(int i = 0; i < postings.size(); i++) {
+            tokens[i] = postings.get(i).token();
+            rankTree[leafOffset + i] = postings.get(i).rank();
+        }
+        for(int node = leafOffset - 1; node > 0; node--) {
+            rankTree[node] = Math.min(rankTree[2 * node], rankTree[2 * node + 1]);
+        }
+        return new TitlePrefixIndex(ids, titles, posterUuids, documentTokens, tokens, leafOffset, rankTree);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * The last query word is matched as a prefix against the sorted token array; every earlier word must prefix
+     * some other token of the same title. Matches come back best-ranked first.
+     */
+    public List<Suggestion> search(String query, int limit) {
+        String[] queryTokens = TextNormalizer.tokens(query);
+        if(queryTokens.length == 0 || limit <= 0 || tokens.length == 0) {
+            return List.of();
+        }
+
+        String prefix = queryTokens[queryTokens.length - 1];
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE);
+
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(Comparator.comparingInt(node -> rankTree[node]));
+        for(int left = from + leafOffset, right = to + leafOffset; left < right; left >>= 1, right >>= 1) {
+            if((left & 1) == 1) {
+                frontier.offer(left++);
+            }
+            if((right & 1) == 1) {
+                frontier.offer(--right);
+            }
+        }
+
+        List<Suggestion> result = new ArrayList<>(limit);
+        int lastRank = -1;
+        while(!frontier.isEmpty() && result.size() < limit) {
+            int node = frontier.poll();
+            if(node < leafOffset) {
+                frontier.offer(2 * node);
+                frontier.offer(2 * node + 1);
+                continue;
+            }
+            // Ranks leave the heap in ascending order, so repeated postings of one title arrive back to back.
+            int rank = rankTree[node];
+            if(rank == lastRank || rank == Integer.MAX_VALUE) {
+                continue;
+            }
+            lastRank = rank;
+            if(matchesLeadingTokens(rank, queryTokens)) {
+                result.add(new Suggestion(ids[rank], titles[rank], posterUuids[rank]));
+            }
+        }
+        return result;
+    }
+
+    private boolean matchesLeadingTokens(int rank, String[] queryTokens) {
+        for(int q = 0; q < queryTokens.length - 1; q++) {
+            boolean found = false;
+            for(String token : documentTokens[rank]) {
+                if(token.startsWith(queryTokens[q])) {
+                    found = true;
+                    break;
+                }
+            }
+            if(!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = tokens.length;
+        while(low < high) {
+            int mid = (low + high) >>> 1;
+            if(tokens[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Posting(String token, int rank) {}
+}
@@ -0,0 +1,59 @@
+package com.netflix.clone.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Exponentially decayed view scores. A score is stored together with the time it was last touched and decayed
+ * lazily, so adding views costs O(1) and only ranking walks every entry. Not thread-safe.
+ */
+public class TrendingScores {
+
+    private static final double PRUNE_BELOW = 0.01;
+
+    private final double decayPerMillis;
+
+    private final LongObjectHashMap<double[]> scores = new LongObjectHashMap<>(256);
+
+    public record Ranked(long id, double score) {}
+
+    public TrendingScores(long halfLifeMillis) {
+        this.decayPerMillis = Math.log(2) / halfLifeMillis;
+    }
+
+    public void add(long id, long views, long nowMillis) {
+        double[] entry = scores.get(id);
+        if(entry == null) {
+            scores.put(id, new double[]{views, nowMillis});
+            return;
+        }
+        entry[0] = decayed(entry, nowMillis) + views;
+        entry[1] = nowMillis;
+    }
+
+    public void remove(long id) {
+        scores.remove(id);
+    }
+
+    public List<Ranked> top(int limit, long nowMillis) {
+        List<Ranked> ranked = new ArrayList<>();
+        List<Long> expired = new ArrayList<>();
+        scores.forEach((id, entry) -> {
+            double score = decayed(entry, nowMillis);
+            if(score < PRUNE_BELOW) {
+                expired.add(id);
+            } else {
+                ranked.add(new Ranked(id, score));
+            }
+        });
+        expired.forEach(scores::remove);
+
+        ranked.sort(Comparator.comparingDouble(Ranked::score).reversed());
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    private double decayed(double[] entry, long nowMillis) {
+        return entry[0] * Math.exp(-decayPerMillis * (nowMillis - entry[1]));
+    }
+}
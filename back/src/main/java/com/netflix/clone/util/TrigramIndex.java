@@ -0,0 +1,153 @@
+package com.netflix.clone.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable trigram posting index for typo-tolerant matching. Each indexed field is split into padded word
+ * trigrams (the pg_trgm scheme) and every trigram maps to the sorted list of fields containing it. A query only
+ * walks the postings of its own trigrams, rarest first, and stops at a fixed posting budget, so lookup cost does
+ * not grow with the number of indexed rows.
+ */
+public final class TrigramIndex {
+
+    public static final TrigramIndex EMPTY = build(List.of());
+
+    private final long[] fieldOwners;
+    private final int[] fieldGramCounts;
+    private final Map<String, int[]> postings;
+
+    public record Document(long id, List<String> fields) {}
+
+    public record Match(long id, double similarity) {}
+
+    private TrigramIndex(long[] fieldOwners, int[] fieldGramCounts, Map<String, int[]> postings) {
+        this.fieldOwners = fieldOwners;
+        this.fieldGramCounts = fieldGramCounts;
+        this.postings = postings;
+    }
+
+    public static TrigramIndex build(List<Document> documents) {
+        List<Long> owners = new ArrayList<>();
+        List<Integer> gramCounts = new ArrayList<>();
+        Map<String, List<Integer>> building = new HashMap<>();
+
+        for(Document document : documents) {
+            for(String field : document.fields()) {
+                Set<String> grams = trigrams(field);
+                if(grams.isEmpty()) {
+                    continue;
+                }
+                int fieldIndex = owners.size();
+                owners.add(document.id());
+                gramCounts.add(grams.size());
+                for(String gram : grams) {
+                    building.computeIfAbsent(gram, key -> new ArrayList<>()).add(fieldIndex);
+                }
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((gram, fields) -> postings.put(gram, fields.stream().mapToInt(Integer::intValue).toArray()));
+        return new TrigramIndex(
+                owners.stream().mapToLong(Long::longValue).toArray(),
+                gramCounts.stream().mapToInt(Integer::intValue).toArray(),
+                postings);
+    }
+
+    public static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for(String word : TextNormalizer.tokens(text)) {
+            String padded = "  " + word + " ";
+            for(int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Jaccard similarity over trigram sets; a document scores as its best matching field.
+     */
+    public List<Match> search(String query, int limit, double minSimilarity, int postingBudget) {
+        Set<String> queryGrams = trigrams(query);
+        if(queryGrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int[][] lists = queryGrams.stream()
+                .map(postings::get)
+                .filter(list -> list != null)
+                .sorted((left, right) -> Integer.compare(left.length, right.length))
+                .toArray(int[][]::new);
+
+        FieldCounter counter = new FieldCounter(postingBudget);
+        int scanned = 0;
+        for(int[] list : lists) {
+            if(scanned + list.length > postingBudget) {
+                break;
+            }
+            for(int field : list) {
+                counter.increment(field);
+            }
+            scanned += list.length;
+        }
+
+        Map<Long, Double> best = new HashMap<>();
+        int queryCount = queryGrams.size();
+        counter.forEach((field, shared) -> {
+            double similarity = (double) shared / (queryCount + fieldGramCounts[field] - shared);
+            if(similarity >= minSimilarity) {
+                best.merge(fieldOwners[field], similarity, Math::max);
+            }
+        });
+
+        return best.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> new Match(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    // Open-addressing int -> int counter sized from the posting budget, so a query never allocates per indexed row.
+    private static final class FieldCounter {
+
+        private final int[] keys;
+        private final int[] counts;
+        private final int mask;
+
+        interface Visitor {
+            void visit(int field, int count);
+        }
+
+        private FieldCounter(int budget) {
+            int capacity = Integer.highestOneBit(Math.max(16, budget) * 2 - 1) * 2;
+            keys = new int[capacity];
+            counts = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, -1);
+        }
+
+        private void increment(int field) {
+            int slot = (field * 0x9E3779B9) & mask;
+            while(keys[slot] != -1 && keys[slot] != field) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = field;
+            counts[slot]++;
+        }
+
+        private void forEach(Visitor visitor) {
+            for(int slot = 0; slot < keys.length; slot++) {
+                if(keys[slot] != -1) {
+                    visitor.visit(keys[slot], counts[slot]);
+                }
+            }
+        }
+    }
+}
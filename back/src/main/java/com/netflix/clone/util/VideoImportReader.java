@@ -0,0 +1,170 @@
+package com.netflix.clone.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.clone.dto.request.VideoRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams video rows out of an NDJSON or CSV body one at a time so an import never holds the whole file in memory.
+ * CSV files need a header row; categories are separated by '|'.
+ */
+public class VideoImportReader {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    public interface RowHandler {
+        void onRow(long rowNumber, VideoRequest request, String error);
+    }
+
+    private VideoImportReader(){}
+
+    public static void read(InputStream body, String contentType, ObjectMapper objectMapper, RowHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if(contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(CSV)) {
+            readCsv(reader, handler);
+        } else {
+            readNdjson(reader, objectMapper, handler);
+        }
+    }
+
+    private static void readNdjson(BufferedReader reader, ObjectMapper objectMapper, RowHandler handler) throws IOException {
+        String line;
+        long rowNumber = 0;
+        while((line = reader.readLine()) != null) {
+            rowNumber++;
+            if(line.isBlank()) {
+                continue;
+            }
+            try {
+                handler.onRow(rowNumber, objectMapper.readValue(line, VideoRequest.class), null);
+            } catch (JsonProcessingException ex) {
+                handler.onRow(rowNumber, null, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private static void readCsv(BufferedReader reader, RowHandler handler) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if(header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for(int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if(!columns.containsKey("title")) {
+            throw new IllegalArgumentException("CSV header must contain a title column");
+        }
+
+        long rowNumber = 1;
+        List<String> record;
+        while((record = readCsvRecord(reader)) != null) {
+            rowNumber++;
+            if(record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                handler.onRow(rowNumber, toVideoRequest(record, columns), null);
+            } catch (IllegalArgumentException ex) {
+                handler.onRow(rowNumber, null, ex.getMessage());
+            }
+        }
+    }
+
+    private static VideoRequest toVideoRequest(List<String> record, Map<String, Integer> columns) {
+        VideoRequest request = new VideoRequest();
+        request.setTitle(column(record, columns, "title"));
+        request.setDescription(column(record, columns, "description"));
+        request.setYear(parseInteger(column(record, columns, "year"), "year"));
+        request.setRating(column(record, columns, "rating"));
+        request.setDuration(parseInteger(column(record, columns, "duration"), "duration"));
+        request.setSrc(column(record, columns, "src"));
+        request.setPoster(column(record, columns, "poster"));
+        request.setPublished(Boolean.parseBoolean(column(record, columns, "published")));
+
+        String categories = column(record, columns, "categories");
+        request.setCategories(categories == null ? List.of() : Arrays.stream(categories.split("\\|"))
+                .map(String::trim)
+                .filter(category -> !category.isEmpty())
+                .toList());
+        return request;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if(index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer parseInteger(String value, String name) {
+        if(value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    // RFC 4180: quoted fields may contain commas, doubled quotes and line breaks.
+    private static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if(c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while(c != -1) {
+            char ch = (char) c;
+            if(quoted) {
+                if(ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if(next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if(next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if(ch == '"') {
+                quoted = true;
+            } else if(ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if(ch == '\n') {
+                break;
+            } else if(ch != '\r') {
+                field.append(ch);
+            }
+            c = reader.read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,27 @@
+package com.netflix.clone.util;
+
+import com.netflix.clone.exception.InvalidTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the watchlist: the (added_at, video_id) of the last row of the previous page.
+ */
+public record WatchlistCursor(Instant addedAt, long videoId) {
+
+    public String encode() {
+        String raw = addedAt.getEpochSecond() + "." + addedAt.getNano() + "." + videoId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static WatchlistCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split("\\.");
+            return new WatchlistCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])), Long.parseLong(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new InvalidTokenException("Invalid watchlist cursor");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+-- Schema as Hibernate generated it from the entities before migrations existed, constraint names included.
+-- Existing databases are baselined at this version and only run later migrations.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    full_name varchar(255) not null,
+    role enum ('ADMIN','USER') not null,
+    active bit not null,
+    email_verified bit not null,
+    verification_token varchar(255),
+    verification_token_expiry datetime(6),
+    password_reset_token varchar(255),
+    password_reset_token_expiry datetime(6),
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table videos (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    description varchar(4000),
+    year integer,
+    rating varchar(255),
+    duration integer,
+    src varchar(255),
+    poster varchar(255),
+    published bit not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table video_categories (
+    video_id bigint not null,
+    category varchar(255)
+) engine=InnoDB;
+
+create table user_watchlist (
+    user_id bigint not null,
+    video_id bigint not null,
+    primary key (user_id, video_id)
+) engine=InnoDB;
+
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table users add constraint UK7lga138i06veb3enx41uhe5tb unique (verification_token);
+alter table user_watchlist add constraint FKb42iy6ra9e1l349ros4f3x18s foreign key (video_id) references videos (id);
+alter table user_watchlist add constraint FK1a2sf5ha20f8a3sqgo3n4h3w6 foreign key (user_id) references users (id);
+alter table video_categories add constraint FKqrdtbwe1eikatbh870575knpc foreign key (video_id) references videos (id);
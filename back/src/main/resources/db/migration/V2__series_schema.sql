@@ -0,0 +1,83 @@
+-- Columns and tables the entities gained after V1. Existing rows start at epoch 0, zero views and "saved now".
+alter table users add column token_epoch int default 0 not null;
+
+alter table videos add column view_count bigint default 0 not null;
+
+alter table user_watchlist add column added_at timestamp(6) default current_timestamp(6) not null;
+
+create index idx_user_watchlist_user_added on user_watchlist (user_id, added_at, video_id);
+
+create table playback_progress (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    video_id bigint not null,
+    position_seconds integer not null,
+    duration_seconds integer,
+    updated_at datetime(6) not null,
+    primary key (id),
+    constraint uk_playback_progress_user_video unique (user_id, video_id)
+) engine=InnoDB;
+
+create index idx_playback_progress_user_updated on playback_progress (user_id, updated_at);
+
+create table viewing_history (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    video_id bigint not null,
+    event_type enum ('PLAY_START','PLAY_STOP') not null,
+    position_seconds integer,
+    occurred_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_viewing_history_user_occurred on viewing_history (user_id, occurred_at);
+
+create table refresh_tokens (
+    id bigint not null auto_increment,
+    token_hash varchar(64) not null,
+    user_id bigint not null,
+    expires_at datetime(6) not null,
+    revoked_at datetime(6),
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+) engine=InnoDB;
+
+create index idx_refresh_tokens_user on refresh_tokens (user_id);
+
+create table revoked_tokens (
+    jti varchar(36) not null,
+    expires_at datetime(6) not null,
+    primary key (jti)
+) engine=InnoDB;
+
+create index idx_revoked_tokens_expires on revoked_tokens (expires_at);
+
+create table email_outbox (
+    id bigint not null auto_increment,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body varchar(4000) not null,
+    status enum ('FAILED','PENDING') not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    last_error varchar(1000),
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
+
+create table auth_tokens (
+    id bigint not null auto_increment,
+    token_hash varchar(64) not null,
+    user_id bigint not null,
+    purpose enum ('EMAIL_VERIFICATION','PASSWORD_RESET') not null,
+    expires_at datetime(6) not null,
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint uk_auth_tokens_token_hash unique (token_hash)
+) engine=InnoDB;
+
+create index idx_auth_tokens_user_purpose on auth_tokens (user_id, purpose);
+create index idx_auth_tokens_expires on auth_tokens (expires_at);
@@ -0,0 +1,29 @@
+-- Verification and reset tokens moved to auth_tokens (unique token_hash, indexed expires_at). Live ones are copied
+-- across first so links sent before the upgrade keep working; SHA2 gives the same lowercase hex as HashUtils.sha256Hex.
+-- Expiries are Instants stored as UTC, like expires_at.
+insert into auth_tokens (token_hash, user_id, purpose, expires_at, created_at)
+select sha2(verification_token, 256), id, 'EMAIL_VERIFICATION', verification_token_expiry, utc_timestamp(6)
+from users
+where verification_token is not null and verification_token_expiry > utc_timestamp(6);
+
+insert into auth_tokens (token_hash, user_id, purpose, expires_at, created_at)
+select sha2(password_reset_token, 256), id, 'PASSWORD_RESET', password_reset_token_expiry, utc_timestamp(6)
+from users
+where password_reset_token is not null and password_reset_token_expiry > utc_timestamp(6);
+
+alter table users drop column verification_token;
+alter table users drop column verification_token_expiry;
+alter table users drop column password_reset_token;
+alter table users drop column password_reset_token_expiry;
+
+-- findPublishedVideos, findPublishedVideosByCategory and the home feed rows: published filter, newest first.
+create index idx_videos_published_created on videos (published, created_at);
+
+-- View-count flushes resolve served media back to videos through findIdsBySrcUuids.
+create index idx_videos_src on videos (src);
+
+-- Category rows filter on category and join back on video_id; findTopPublishedCategories groups by category.
+create index idx_video_categories_category_video on video_categories (category, video_id);
+
+-- user_watchlist (user_id, video_id) is already the primary key. Saves-per-video counts and video deletes go by video.
+create index idx_user_watchlist_video on user_watchlist (video_id);
@@ -0,0 +1,8 @@
+-- Written to the primary by every node and read back from each replica to measure replication lag.
+create table replica_heartbeat (
+    id int not null,
+    beat_millis bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into replica_heartbeat values (1, 0);
@@ -0,0 +1,12 @@
+-- Invalidation bus between nodes: mutations append rows and every node tails the table by primary key.
+create table change_log (
+    id bigint not null auto_increment,
+    entity varchar(32) not null,
+    entity_key varchar(255) not null,
+    version bigint not null,
+    origin varchar(36) not null,
+    created_millis bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_change_log_created on change_log (created_millis);
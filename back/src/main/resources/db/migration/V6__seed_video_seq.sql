@@ -0,0 +1,8 @@
+-- Video ids moved from IDENTITY to the pooled video_seq generator (allocationSize 50). MySQL has no sequences, so
+-- Hibernate emulates it with a single-row table. videos.id keeps its auto_increment; ids are now always supplied.
+create table video_seq (
+    next_val bigint
+) engine=InnoDB;
+
+-- The pooled optimizer hands out (next_val - 50, next_val], so the first block must start above every existing id.
+insert into video_seq (next_val) select coalesce(max(id), 0) + 51 from videos;
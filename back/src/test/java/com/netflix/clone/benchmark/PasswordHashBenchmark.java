@@ -0,0 +1,44 @@
+package com.netflix.clone.benchmark;
+
+import com.netflix.clone.util.BcryptCalibrator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures bcrypt cost per strength so the calibrated strength can be checked against the target hash time.
+ * Run with: mvn test-compile exec:java -Dexec.mainClass=com.netflix.clone.benchmark.PasswordHashBenchmark -Dexec.classpathScope=test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Strength {
+        @Param({"10", "11", "12", "13"})
+        public int value;
+    }
+
+    @Benchmark
+    public String hash(Strength strength) {
+        return BcryptCalibrator.hash(strength.value);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 5)
+    public int calibrate() {
+        return BcryptCalibrator.calibrate(250, 10, 14);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PasswordHashBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.netflix.clone.cache;
+
+import com.netflix.clone.enums.ChangeLogEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two {@link ChangeLog} instances over one embedded database play two nodes sharing a primary.
+ */
+class ChangeLogTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<ChangeLogEvent> received = new ArrayList<>();
+
+    private ChangeLog writer;
+
+    private ChangeLog reader;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:changelog;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE change_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, entity VARCHAR(32) NOT NULL, "
+                + "entity_key VARCHAR(255) NOT NULL, version BIGINT NOT NULL, origin VARCHAR(36) NOT NULL, created_millis BIGINT NOT NULL)");
+        writer = node(event -> {});
+        reader = node(received::add);
+        writer.start();
+        reader.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    private ChangeLog node(Consumer<ChangeLogEvent> listener) {
+        ChangeLog node = new ChangeLog(jdbcTemplate, event -> listener.accept((ChangeLogEvent) event), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(node, "batchSize", 2);
+        ReflectionTestUtils.setField(node, "gapTimeoutMs", 60000L);
+        return node;
+    }
+
+    @Test
+    void otherNodesChangesArePublishedOnceAndOwnChangesAreSkipped() {
+        writer.userChanged(1L, "a@example.com");
+        writer.watchlistChanged("a@example.com");
+        writer.userTokensRevoked(7L, 3);
+        reader.catalogChanged();
+
+        reader.poll();
+        reader.poll();
+
+        assertEquals(List.of(
+                new ChangeLogEvent(ChangeLogEntity.USER, "a@example.com", 1),
+                new ChangeLogEvent(ChangeLogEntity.WATCHLIST, "a@example.com", 0),
+                new ChangeLogEvent(ChangeLogEntity.USER_TOKENS, "7", 3)), received);
+    }
+
+    @Test
+    void repeatedChangesToOneKeyWithinAPollAreCoalesced() {
+        for(int i = 0; i < 5; i++) {
+            writer.catalogChanged();
+        }
+        reader.poll();
+        assertEquals(List.of(new ChangeLogEvent(ChangeLogEntity.CATALOG, "*", 0)), received);
+    }
+
+    // Simulates a transaction that took id 2 but committed after id 3 was already read.
+    @Test
+    void rowCommittedLateBehindAHigherIdIsStillDelivered() {
+        writer.userChanged(1L, "first@example.com");
+        writer.accessTokenRevoked("late", Instant.ofEpochSecond(1000));
+        writer.userChanged(3L, "third@example.com");
+        Long lateId = jdbcTemplate.queryForObject("SELECT id FROM change_log WHERE entity_key = 'late'", Long.class);
+        List<Object[]> late = jdbcTemplate.query("SELECT entity, entity_key, version, origin, created_millis FROM change_log WHERE id = ?",
+                (rs, rowNum) -> new Object[]{rs.getString(1), rs.getString(2), rs.getLong(3), rs.getString(4), rs.getLong(5)}, lateId);
+        jdbcTemplate.update("DELETE FROM change_log WHERE id = ?", lateId);
+
+        reader.poll();
+        assertEquals(2, received.size());
+
+        Object[] row = late.get(0);
+        jdbcTemplate.update("INSERT INTO change_log (id, entity, entity_key, version, origin, created_millis) VALUES (?, ?, ?, ?, ?, ?)",
+                lateId, row[0], row[1], row[2], row[3], row[4]);
+        reader.poll();
+
+        assertEquals(new ChangeLogEvent(ChangeLogEntity.ACCESS_TOKEN, "late", 1000), received.get(2));
+        reader.poll();
+        assertEquals(3, received.size());
+    }
+}
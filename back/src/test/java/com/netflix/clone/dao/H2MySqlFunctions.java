@@ -0,0 +1,25 @@
+package com.netflix.clone.dao;
+
+import com.netflix.clone.util.HashUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * MySQL functions used by the migrations that H2's MySQL mode lacks, registered through {@link #INIT}.
+ */
+public final class H2MySqlFunctions {
+
+    public static final String INIT = "INIT=RUNSCRIPT FROM 'classpath:h2-mysql-functions.sql'";
+
+    private H2MySqlFunctions() {}
+
+    public static String sha2(String value, int bits) {
+        return value == null ? null : HashUtils.sha256Hex(value);
+    }
+
+    public static Timestamp utcTimestamp(int precision) {
+        return Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,117 @@
+package com.netflix.clone.dao;
+
+import com.netflix.clone.enums.AuthTokenPurpose;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot repository queries against the Flyway-built schema, then EXPLAINs the exact SQL Hibernate sent to check
+ * each one is answered from its intended index. H2 in MySQL mode stands in for MySQL here.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indexplan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1;" + H2MySqlFunctions.INIT,
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.netflix.clone.dao.HotQueryIndexTest$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HotQueryIndexTest {
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WatchlistEntryRepository watchlistEntryRepository;
+
+    @Autowired
+    private AuthTokenRepository authTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, email, password, full_name, role, active, email_verified, created_at, updated_at) "
+                + "VALUES (1, 'viewer@example.com', 'x', 'Viewer', 'USER', true, true, NOW(), NOW())");
+        for(int id = 1; id <= 20; id++) {
+            jdbcTemplate.update("INSERT INTO videos (id, title, src, poster, published, created_at, updated_at) VALUES (?, ?, ?, ?, ?, NOW(), NOW())",
+                    id, "Title " + id, "src-" + id, "poster-" + id, id % 4 != 0);
+            jdbcTemplate.update("INSERT INTO video_categories (video_id, category) VALUES (?, ?)", id, id % 2 == 0 ? "Drama" : "Comedy");
+        }
+        jdbcTemplate.update("INSERT INTO user_watchlist (user_id, video_id) VALUES (1, 3), (1, 5)");
+        jdbcTemplate.update("INSERT INTO auth_tokens (token_hash, user_id, purpose, expires_at, created_at) "
+                + "VALUES ('abc', 1, 'PASSWORD_RESET', NOW(), NOW())");
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void publishedFeedUsesPublishedCreatedIndex() {
+        videoRepository.findPublishedVideos(PageRequest.of(0, 5));
+        assertPlanUses("from videos", "idx_videos_published_created", 5);
+    }
+
+    @Test
+    void categoryRowDrivesFromCategoryIndex() {
+        videoRepository.findPublishedVideosByCategory("Drama", PageRequest.of(0, 5));
+        assertPlanUses("join video_categories", "idx_video_categories_category_video", "Drama", 5);
+    }
+
+    @Test
+    void srcLookupUsesSrcIndex() {
+        videoRepository.findIdsBySrcUuids(List.of("src-2", "src-7"));
+        assertPlanUses("from videos", "idx_videos_src", "src-2", "src-7");
+    }
+
+    @Test
+    void emailLookupUsesUniqueEmailIndex() {
+        userRepository.findByEmail("viewer@example.com");
+        assertPlanUses("from users", "uk6dotkott2kjsp8vw4d0m25fb7", "viewer@example.com");
+    }
+
+    @Test
+    void watchlistKeysetPageUsesUserAddedIndex() {
+        watchlistEntryRepository.findFirstKeysetPage(1L, PageRequest.of(0, 5));
+        assertPlanUses("from user_watchlist", "idx_user_watchlist_user_added", 1L, 5);
+    }
+
+    @Test
+    void authTokenLookupUsesUniqueHashIndex() {
+        authTokenRepository.findByTokenHashAndPurpose("abc", AuthTokenPurpose.PASSWORD_RESET);
+        assertPlanUses("from auth_tokens", "uk_auth_tokens_token_hash", "abc", "PASSWORD_RESET");
+    }
+
+    private void assertPlanUses(String fragment, String index, Object... parameters) {
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.toLowerCase().contains(fragment))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No statement containing '" + fragment + "' was executed"));
+        // MySQLDialect renders boolean literals as 1, which MySQL matches against bit indexes but H2 only does for TRUE.
+        String explained = sql.replace(".published=1", ".published=true");
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + explained, String.class, parameters)).toLowerCase();
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan for " + sql + ":\n" + plan);
+    }
+}
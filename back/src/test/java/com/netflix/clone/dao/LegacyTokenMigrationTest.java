@@ -0,0 +1,58 @@
+package com.netflix.clone.dao;
+
+import com.netflix.clone.util.HashUtils;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Stops at the V1 schema, stores tokens the old way, then runs the remaining migrations.
+ */
+class LegacyTokenMigrationTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:legacytokens;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1;" + H2MySqlFunctions.INIT);
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    private void insertUser(long id, String verificationToken, long verificationDays, String resetToken, long resetDays) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.update("INSERT INTO users (id, email, password, full_name, role, active, email_verified, verification_token, "
+                        + "verification_token_expiry, password_reset_token, password_reset_token_expiry, created_at, updated_at) "
+                        + "VALUES (?, ?, 'x', 'User', 'USER', true, false, ?, ?, ?, ?, NOW(), NOW())",
+                id, "user" + id + "@example.com",
+                verificationToken, verificationToken != null ? Timestamp.valueOf(now.plusDays(verificationDays)) : null,
+                resetToken, resetToken != null ? Timestamp.valueOf(now.plusDays(resetDays)) : null);
+    }
+
+    @Test
+    void liveLegacyTokensAreHashedIntoAuthTokensAndExpiredOnesDropped() {
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        insertUser(1, "verify-live", 1, null, 0);
+        insertUser(2, "verify-expired", -1, "reset-live", 1);
+        insertUser(3, null, 0, "reset-expired", -1);
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        List<Map<String, Object>> tokens = jdbcTemplate.queryForList("SELECT token_hash, user_id, purpose FROM auth_tokens ORDER BY user_id");
+        assertEquals(List.of(
+                Map.of("token_hash", HashUtils.sha256Hex("verify-live"), "user_id", 1L, "purpose", "EMAIL_VERIFICATION"),
+                Map.of("token_hash", HashUtils.sha256Hex("reset-live"), "user_id", 2L, "purpose", "PASSWORD_RESET")), tokens);
+    }
+}
@@ -0,0 +1,170 @@
+package com.netflix.clone.dao;
+
+import com.netflix.clone.config.JpaConfig;
+import com.netflix.clone.datasource.ReplicaReadCacheBypass;
+import com.netflix.clone.entity.User;
+import com.netflix.clone.entity.Video;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Each lookup runs in its own transaction, so a repeat can only be answered without SQL from the second-level cache,
+ * never from the persistence context.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:secondlevel;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1;" + H2MySqlFunctions.INIT,
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(JpaConfig.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterBinder hibernateCacheMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Long videoId;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Video video = new Video();
+        video.setTitle("Cached");
+        video.setPublished(true);
+        video.setDuration(90);
+        video.setCategories(List.of("Drama", "Comedy"));
+        videoId = videoRepository.save(video).getId();
+
+        User user = new User();
+        user.setEmail("cached@example.com");
+        user.setPassword("x");
+        user.setFullName("Cached");
+        userId = userRepository.save(user).getId();
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        videoRepository.deleteAll();
+    }
+
+    private List<String> loadCategories() {
+        return transactionTemplate.execute(status -> List.copyOf(videoRepository.findById(videoId).orElseThrow().getCategories()));
+    }
+
+    @Test
+    void repeatVideoLookupWithCategoriesIssuesNoSql() {
+        List<String> categories = loadCategories();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(categories, loadCategories());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(JpaConfig.VIDEO_REGION).getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics(JpaConfig.VIDEO_CATEGORIES_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void repeatUserLookupIssuesNoSql() {
+        transactionTemplate.execute(status -> userRepository.findById(userId).orElseThrow());
+        long statements = statistics.getPrepareStatementCount();
+
+        User user = transactionTemplate.execute(status -> userRepository.findById(userId).orElseThrow());
+        assertEquals("cached@example.com", user.getEmail());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void countQueriesAreCachedUntilAVideoIsWritten() {
+        assertEquals(1, videoRepository.countPublishedVideos());
+        assertEquals(90, videoRepository.getTotalDuration());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(1, videoRepository.countPublishedVideos());
+        assertEquals(90, videoRepository.getTotalDuration());
+        assertEquals(1, videoRepository.count());
+        assertEquals(1, videoRepository.count());
+        assertEquals(statements + 1, statistics.getPrepareStatementCount());
+
+        Video video = new Video();
+        video.setTitle("Fresh");
+        video.setPublished(true);
+        videoRepository.save(video);
+        assertEquals(2, videoRepository.countPublishedVideos());
+    }
+
+    @Test
+    void readOnlyTransactionsDoNotStoreWhenReadsMayComeFromAReplica() {
+        JpaTransactionManager jpaTransactionManager = (JpaTransactionManager) transactionManager;
+        ReplicaReadCacheBypass bypass = new ReplicaReadCacheBypass(entityManagerFactory);
+        jpaTransactionManager.addListener(bypass);
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.execute(status -> videoRepository.findById(videoId).orElseThrow());
+            assertFalse(entityManagerFactory.getCache().contains(Video.class, videoId));
+
+            transactionTemplate.execute(status -> videoRepository.findById(videoId).orElseThrow());
+            assertTrue(entityManagerFactory.getCache().contains(Video.class, videoId));
+        } finally {
+            jpaTransactionManager.getTransactionExecutionListeners().remove(bypass);
+        }
+    }
+
+    @Test
+    void hitRatioIsPublishedPerRegion() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        hibernateCacheMetrics.bindTo(registry);
+
+        loadCategories();
+        loadCategories();
+
+        double ratio = registry.get("hibernate.cache.hit.ratio").tag("region", JpaConfig.VIDEO_REGION).gauge().value();
+        assertEquals(0.5, ratio, 0.001);
+    }
+}
@@ -0,0 +1,153 @@
+package com.netflix.clone.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two embedded H2 databases stand in for the primary and a replica; each answers "which node" differently, so the
+ * result of a query shows where it was routed.
+ */
+class ReplicaPoolDataSourceTest {
+
+    private static final long MAX_LAG_MS = 3000;
+
+    private Connection replicaKeepAlive;
+
+    private JdbcTemplate replica;
+
+    private ReplicaPoolDataSource pool;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource primaryDataSource = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1");
+        DataSource replicaDataSource = new DriverManagerDataSource("jdbc:h2:mem:replica");
+        replicaKeepAlive = replicaDataSource.getConnection();
+        initialise(new JdbcTemplate(primaryDataSource), "primary");
+        replica = new JdbcTemplate(replicaDataSource);
+        initialise(replica, "replica");
+
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(5000, 100);
+        // IFEXISTS on later connections means the replica disappears once the keep-alive connection closes.
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", new DriverManagerDataSource("jdbc:h2:mem:replica;IFEXISTS=TRUE"));
+        pool = new ReplicaPoolDataSource(primaryDataSource, replicas, tracker, MAX_LAG_MS, new SimpleMeterRegistry());
+
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(pool);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        transactionManager.addListener(tracker);
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:primary")).execute("DROP ALL OBJECTS");
+        if(!replicaKeepAlive.isClosed()) {
+            replicaKeepAlive.close();
+        }
+    }
+
+    private static void initialise(JdbcTemplate database, String name) {
+        database.execute("CREATE TABLE node (name VARCHAR(16))");
+        database.update("INSERT INTO node VALUES (?)", name);
+        database.execute("CREATE TABLE replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+        database.update("INSERT INTO replica_heartbeat VALUES (1, 0)");
+    }
+
+    private void replicateHeartbeat(long ageMillis) {
+        replica.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", System.currentTimeMillis() - ageMillis);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAFreshReplicaAndWritesToThePrimary() {
+        replicateHeartbeat(100);
+        pool.probe();
+
+        assertEquals("replica", readOnlyNode());
+        assertEquals("primary", readWriteNode());
+    }
+
+    @Test
+    void readsStayOnThePrimaryUntilTheFirstSuccessfulProbe() {
+        assertEquals("primary", readOnlyNode());
+    }
+
+    @Test
+    void laggingReplicaIsSkipped() {
+        replicateHeartbeat(MAX_LAG_MS + 5000);
+        pool.probe();
+        assertEquals("primary", readOnlyNode());
+
+        replicateHeartbeat(0);
+        pool.probe();
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() throws Exception {
+        replicateHeartbeat(0);
+        pool.probe();
+        replicaKeepAlive.close();
+
+        assertEquals("primary", readOnlyNode());
+        pool.probe();
+        assertEquals("primary", readOnlyNode());
+    }
+
+    @Test
+    void userReadsTheirOwnWritesFromThePrimary() {
+        replicateHeartbeat(0);
+        pool.probe();
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer@example.com", null, "ROLE_USER"));
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = 'primary'"));
+        assertEquals("primary", readOnlyNode());
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other@example.com", null, "ROLE_USER"));
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    void heartbeatIsWrittenToThePrimary() {
+        pool.writeHeartbeat();
+        long beat = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:primary"))
+                .queryForObject("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+        assertTrue(System.currentTimeMillis() - beat < 5000);
+    }
+}
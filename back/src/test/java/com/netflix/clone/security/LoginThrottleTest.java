@@ -0,0 +1,80 @@
+package com.netflix.clone.security;
+
+import com.netflix.clone.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginThrottleTest {
+
+    private static LoginThrottle throttle(List<String> trustedProxies) {
+        return new LoginThrottle(new SimpleMeterRegistry(), 600, 3, 5, 1024, trustedProxies);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if(forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+
+    @Test
+    void emailIsThrottledAfterItsLimitWhateverTheCase() {
+        LoginThrottle throttle = throttle(List.of());
+        for(int i = 0; i < 3; i++) {
+            String address = "203.0.113." + i;
+            assertDoesNotThrow(() -> throttle.acquire("Viewer@example.com", address));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("viewer@example.com ", "203.0.113.9"));
+    }
+
+    @Test
+    void addressIsThrottledAcrossEmails() {
+        LoginThrottle throttle = throttle(List.of());
+        for(int i = 0; i < 5; i++) {
+            String email = "user" + i + "@example.com";
+            assertDoesNotThrow(() -> throttle.acquire(email, "203.0.113.7"));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("other@example.com", "203.0.113.7"));
+        assertDoesNotThrow(() -> throttle.acquire("other@example.com", "203.0.113.8"));
+    }
+
+    @Test
+    void forwardedForIsIgnoredWithoutTrustedProxies() {
+        LoginThrottle throttle = throttle(List.of());
+
+        assertEquals("10.0.0.5", throttle.clientIp(request("10.0.0.5", "198.51.100.1")));
+    }
+
+    @Test
+    void forwardedForIsIgnoredFromUntrustedSource() {
+        LoginThrottle throttle = throttle(List.of("10.0.0.0/8"));
+
+        assertEquals("203.0.113.7", throttle.clientIp(request("203.0.113.7", "198.51.100.1")));
+    }
+
+    @Test
+    void trustedProxyResolvesToRightmostUntrustedHop() {
+        LoginThrottle throttle = throttle(List.of("10.0.0.0/8", " 192.168.1.1"));
+
+        // The leftmost entry is whatever the client claimed; the balancer appended the address it actually saw.
+        assertEquals("198.51.100.1", throttle.clientIp(request("10.0.0.5", "1.2.3.4, 198.51.100.1, 192.168.1.1")));
+    }
+
+    @Test
+    void allTrustedHopsFallBackToRemoteAddress() {
+        LoginThrottle throttle = throttle(List.of("10.0.0.0/8"));
+
+        assertEquals("10.0.0.5", throttle.clientIp(request("10.0.0.5", "10.1.1.1, 10.2.2.2")));
+    }
+}
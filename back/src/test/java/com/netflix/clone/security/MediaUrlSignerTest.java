@@ -0,0 +1,109 @@
+package com.netflix.clone.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MediaUrlSignerTest {
+
+    private static final String SECRET = "testSecretKeyForMediaUrlSignertestSecretKeyForMediaUrlSigner";
+    private static final String PATH = "/api/files/video/movie.mp4";
+
+    private final MediaUrlSigner signer = new MediaUrlSigner(SECRET, 14400, 900);
+
+    private static Map<String, String> params(String query) {
+        Map<String, String> params = new HashMap<>();
+        for(String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            params.put(pair.substring(0, eq), pair.substring(eq + 1));
+        }
+        return params;
+    }
+
+    private static MediaUrlSigner.Grant verify(MediaUrlSigner signer, String path, Map<String, String> params) {
+        return signer.verify(path, params.get("e"), params.get("u"), params.get("v"), params.get("s"));
+    }
+
+    @Test
+    void signedUrlVerifiesToTheGrantItWasSignedFor() {
+        Map<String, String> params = params(signer.sign(PATH, 42, 3));
+
+        MediaUrlSigner.Grant grant = verify(signer, PATH, params);
+        assertNotNull(grant);
+        assertEquals(42, grant.userId());
+        assertEquals(3, grant.epoch());
+    }
+
+    @Test
+    void expiryIsRoundedUpToABucketSoUrlsStayStable() {
+        long now = System.currentTimeMillis() / 1000;
+        long expiry = signer.currentExpiry();
+
+        assertEquals(0, expiry % 900);
+        assertTrue(expiry > now + 14400);
+        assertEquals(signer.sign(PATH, 42, 3), signer.sign(PATH, 42, 3));
+    }
+
+    @Test
+    void tamperingWithAnySignedPartIsRejected() {
+        Map<String, String> params = params(signer.sign(PATH, 42, 3));
+
+        assertNull(verify(signer, "/api/files/video/other.mp4", params));
+        for(String key : new String[]{"e", "u", "v"}) {
+            Map<String, String> tampered = new HashMap<>(params);
+            tampered.put(key, Long.toString(Long.parseLong(params.get(key), 36) + 1, 36));
+            assertNull(verify(signer, PATH, tampered), "tampered " + key);
+        }
+
+        Map<String, String> forged = new HashMap<>(params);
+        char first = params.get("s").charAt(0);
+        forged.put("s", (first == 'A' ? 'B' : 'A') + params.get("s").substring(1));
+        assertNull(verify(signer, PATH, forged));
+    }
+
+    @Test
+    void missingOrMalformedParametersAreRejected() {
+        Map<String, String> params = params(signer.sign(PATH, 42, 3));
+
+        for(String key : new String[]{"e", "u", "v", "s"}) {
+            Map<String, String> missing = new HashMap<>(params);
+            missing.remove(key);
+            assertNull(verify(signer, PATH, missing), "missing " + key);
+        }
+
+        Map<String, String> malformed = new HashMap<>(params);
+        malformed.put("s", "not*base64");
+        assertNull(verify(signer, PATH, malformed));
+
+        malformed = new HashMap<>(params);
+        malformed.put("e", "!");
+        assertNull(verify(signer, PATH, malformed));
+    }
+
+    @Test
+    void expiredUrlsAreRejectedEvenWithAValidSignature() {
+        MediaUrlSigner expiring = new MediaUrlSigner(SECRET, -3600, 1);
+
+        assertNull(verify(expiring, PATH, params(expiring.sign(PATH, 42, 3))));
+    }
+
+    @Test
+    void urlsSignedWithAnotherSecretAreRejected() {
+        MediaUrlSigner other = new MediaUrlSigner(SECRET + "-rotated", 14400, 900);
+
+        assertNull(verify(signer, PATH, params(other.sign(PATH, 42, 3))));
+    }
+
+    @Test
+    void grantVersionChangesWithTheTokenEpoch() {
+        assertEquals(signer.grantFor(42, 3).version(), signer.grantFor(7, 3).version());
+        assertNotEquals(signer.grantFor(42, 3).version(), signer.grantFor(42, 4).version());
+    }
+}
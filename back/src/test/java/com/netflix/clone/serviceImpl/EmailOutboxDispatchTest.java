@@ -0,0 +1,102 @@
+package com.netflix.clone.serviceImpl;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.netflix.clone.dao.EmailOutboxRepository;
+import com.netflix.clone.entity.EmailOutbox;
+import com.netflix.clone.enums.EmailOutboxStatus;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.mail.username=no-reply@netflix.clone", "app.mail.outbox.retry-base-seconds=60", "spring.flyway.enabled=false"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EmailServiceImpl.class, EmailOutboxDispatchTest.MailConfig.class})
+class EmailOutboxDispatchTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @TestConfiguration
+    static class MailConfig {
+        @Bean
+        JavaMailSender javaMailSender() {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("127.0.0.1");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+    }
+
+    @Autowired
+    private EmailServiceImpl emailService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender javaMailSender;
+
+    @BeforeEach
+    void clearOutbox() {
+        emailOutboxRepository.deleteAll();
+        ((JavaMailSenderImpl) javaMailSender).setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @Test
+    void enqueuedEmailsAreDeliveredInOneDispatchAndRemoved() throws Exception {
+        emailService.sendVerificationEmail("first@example.com", "token-1");
+        emailService.sendPasswordResetEmail("second@example.com", "token-2");
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        emailService.dispatchOutbox();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("first@example.com", received[0].getAllRecipients()[0].toString());
+        assertTrue(received[1].getSubject().contains("Reset"));
+        assertEquals(0, emailOutboxRepository.count());
+    }
+
+    @Test
+    void failedDeliveryIsKeptAndRescheduledWithBackoff() {
+        ((JavaMailSenderImpl) javaMailSender).setPort(ServerSetupTest.SMTP.getPort() + 1);
+        emailService.sendVerificationEmail("retry@example.com", "token-3");
+
+        Instant before = Instant.now();
+        emailService.dispatchOutbox();
+
+        List<EmailOutbox> pending = emailOutboxRepository.findAll();
+        assertEquals(1, pending.size());
+        EmailOutbox email = pending.get(0);
+        assertEquals(EmailOutboxStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertTrue(email.getNextAttemptAt().isAfter(before.plusSeconds(59)));
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+}
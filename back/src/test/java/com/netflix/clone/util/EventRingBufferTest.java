@@ -0,0 +1,113 @@
+package com.netflix.clone.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new EventRingBuffer<String>(5).capacity());
+        assertEquals(8, new EventRingBuffer<String>(8).capacity());
+        assertEquals(2, new EventRingBuffer<String>(0).capacity());
+    }
+
+    @Test
+    void fullBufferDropsAndCountsInsteadOfBlocking() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+        for(int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+        assertEquals(2, buffer.dropped());
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void slotsAreReusedLapAfterLapInOrder() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        for(int lap = 0; lap < 100; lap++) {
+            assertTrue(buffer.offer(next++));
+            assertTrue(buffer.offer(next++));
+            assertTrue(buffer.offer(next++));
+            assertEquals(2, buffer.drain(drained::add, 2));
+            assertTrue(buffer.offer(next++));
+            assertEquals(2, buffer.drain(drained::add, 2));
+        }
+        buffer.drain(drained::add, Integer.MAX_VALUE);
+
+        assertEquals(next, drained.size());
+        for(int i = 0; i < next; i++) {
+            assertEquals(i, drained.get(i));
+        }
+        assertEquals(0, buffer.dropped());
+    }
+
+    @Test
+    void concurrentProducersDeliverEveryAcceptedEventExactlyOnceAndInProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 100_000;
+        EventRingBuffer<long[]> buffer = new EventRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> accepted = new ArrayList<>();
+        try {
+            for(int p = 0; p < producers; p++) {
+                long producer = p;
+                accepted.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for(long i = 0; i < perProducer; i++) {
+                        if(buffer.offer(new long[]{producer, i})) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+
+            long[] lastSeen = {-1, -1, -1, -1};
+            Set<Long> delivered = new HashSet<>();
+            start.countDown();
+            while(!accepted.stream().allMatch(Future::isDone) || buffer.size() > 0) {
+                buffer.drain(event -> {
+                    int producer = (int) event[0];
+                    assertTrue(event[1] > lastSeen[producer], "out of order for producer " + producer);
+                    lastSeen[producer] = event[1];
+                    assertTrue(delivered.add(event[0] * perProducer + event[1]), "delivered twice");
+                }, 256);
+            }
+
+            int total = 0;
+            for(Future<Integer> future : accepted) {
+                total += future.get();
+            }
+            assertEquals(total, delivered.size());
+            assertEquals((long) producers * perProducer, total + buffer.dropped());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
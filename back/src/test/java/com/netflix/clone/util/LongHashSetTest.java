@@ -0,0 +1,58 @@
+package com.netflix.clone.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+    @Test
+    void matchesAHashSetUnderRandomAddsAndRemoves() {
+        Random random = new Random(3);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+
+        for(int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(512) - 16;
+            if(random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.add(key), set.add(key));
+            }
+            if(i % 1000 == 0) {
+                assertSameContents(expected, set);
+            }
+        }
+        assertSameContents(expected, set);
+    }
+
+    @Test
+    void zeroIsAnOrdinaryElement() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertEquals(1, set.toArray().length);
+
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertEquals(0, set.size());
+    }
+
+    private static void assertSameContents(Set<Long> expected, LongHashSet set) {
+        assertEquals(expected.size(), set.size());
+        expected.forEach(key -> assertTrue(set.contains(key), "key " + key));
+
+        long[] elements = set.toArray();
+        assertEquals(expected.size(), elements.length);
+        assertEquals(expected, Arrays.stream(elements).boxed().collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.netflix.clone.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Random puts and removes over a small key range keep probe chains long and wrapping, which is where
+ * backward-shift deletion can lose or strand an entry.
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void matchesAHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(42);
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for(int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(512) - 16;
+            if(random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                int value = random.nextInt(1000) + 1;
+                map.put(key, value);
+                expected.put(key, value);
+            }
+            if(i % 1000 == 0) {
+                assertSameContents(expected, map);
+            }
+        }
+        assertSameContents(expected, map);
+    }
+
+    @Test
+    void zeroIsAnOrdinaryKey() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertFalse(map.containsKey(0));
+
+        map.put(0, 5);
+        assertTrue(map.containsKey(0));
+        assertEquals(5, map.get(0));
+        assertEquals(1, map.size());
+
+        map.remove(0);
+        assertFalse(map.containsKey(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void addToDropsTheEntryAtZero() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertEquals(2, map.addTo(7, 2));
+        assertEquals(1, map.addTo(7, -1));
+        assertEquals(0, map.addTo(7, -1));
+
+        assertFalse(map.containsKey(7));
+        assertTrue(map.isEmpty());
+    }
+
+    private static void assertSameContents(Map<Long, Integer> expected, LongIntHashMap map) {
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key), "key " + key));
+
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach((key, value) -> assertEquals(null, visited.put(key, value), "key visited twice " + key));
+        assertEquals(expected, visited);
+    }
+}
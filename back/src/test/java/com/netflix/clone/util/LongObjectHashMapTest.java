@@ -0,0 +1,59 @@
+package com.netflix.clone.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void matchesAHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(7);
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        Map<Long, String> expected = new HashMap<>();
+
+        for(int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(512) - 16;
+            if(random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                String value = "v" + random.nextInt(1000);
+                map.put(key, value);
+                expected.put(key, value);
+            }
+            if(i % 1000 == 0) {
+                assertSameContents(expected, map);
+            }
+        }
+        assertSameContents(expected, map);
+    }
+
+    @Test
+    void computeIfAbsentOnlyCallsTheFactoryForMissingKeys() {
+        LongObjectHashMap<StringBuilder> map = new LongObjectHashMap<>();
+        StringBuilder first = map.computeIfAbsent(0, key -> new StringBuilder("zero"));
+
+        assertSame(first, map.computeIfAbsent(0, key -> new StringBuilder("other")));
+        assertEquals(1, map.size());
+
+        map.remove(0);
+        assertNull(map.get(0));
+        assertEquals(0, map.size());
+    }
+
+    private static void assertSameContents(Map<Long, String> expected, LongObjectHashMap<String> map) {
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key), "key " + key));
+
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value), "key visited twice " + key));
+        assertEquals(expected, visited);
+    }
+}
@@ -0,0 +1,88 @@
+package com.netflix.clone.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowSketchTest {
+
+    private static final long WINDOW = 1000;
+
+    @Test
+    void incrementReturnsTheCountIncludingTheNewEvent() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(1024, 4, WINDOW);
+
+        for(int i = 1; i <= 5; i++) {
+            assertEquals(i, sketch.increment("a@example.com|10.0.0.1", 10_100 + i), 1e-9);
+        }
+        assertEquals(5, sketch.estimate("a@example.com|10.0.0.1", 10_900), 1e-9);
+        assertEquals(0, sketch.estimate("b@example.com|10.0.0.1", 10_900), 1e-9);
+    }
+
+    @Test
+    void previousWindowIsWeightedByItsRemainingOverlap() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(1024, 4, WINDOW);
+        for(int i = 0; i < 10; i++) {
+            sketch.increment("key", 10_500);
+        }
+
+        assertEquals(7.5, sketch.estimate("key", 11_250), 1e-9);
+        assertEquals(3.5, sketch.increment("key", 11_750), 1e-9);
+        assertEquals(0.25, sketch.estimate("key", 12_750), 1e-9);
+        assertEquals(0, sketch.estimate("key", 14_000), 1e-9);
+    }
+
+    @Test
+    void collisionsOnlyEverOvercount() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(64, 3, WINDOW);
+        Random random = new Random(9);
+        Map<String, Integer> actual = new HashMap<>();
+        for(int i = 0; i < 20_000; i++) {
+            String key = "user" + random.nextInt(2000);
+            sketch.increment(key, 20_000);
+            actual.merge(key, 1, Integer::sum);
+        }
+
+        actual.forEach((key, count) -> assertTrue(sketch.estimate(key, 20_999) >= count, key));
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws Exception {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(1024, 4, WINDOW);
+        int threads = 4;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for(int i = 0; i < perThread; i++) {
+                        sketch.increment("key", 30_000 + i % 1000);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, sketch.estimate("key", 30_999), 1e-9);
+    }
+}
@@ -0,0 +1,73 @@
+package com.netflix.clone.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TitlePrefixIndexTest {
+
+    private static final String[] WORDS = {"star", "stone", "storm", "dark", "darker", "night", "knight", "day", "dawn", "sea"};
+
+    @Test
+    void matchesABruteForceScanOverRandomTitles() {
+        Random random = new Random(11);
+        List<TitlePrefixIndex.Document> documents = new ArrayList<>();
+        for(int id = 1; id <= 300; id++) {
+            int words = 1 + random.nextInt(3);
+            StringBuilder title = new StringBuilder();
+            for(int w = 0; w < words; w++) {
+                title.append(w > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            documents.add(new TitlePrefixIndex.Document(id, title.toString(), "poster-" + id, random.nextDouble()));
+        }
+        TitlePrefixIndex index = TitlePrefixIndex.build(documents);
+        assertEquals(300, index.size());
+
+        List<TitlePrefixIndex.Document> ranked = new ArrayList<>(documents);
+        ranked.sort(Comparator.comparingDouble(TitlePrefixIndex.Document::popularity).reversed());
+
+        for(String query : new String[]{"s", "st", "sto", "dark", "da", "d", "night k", "star d", "kn", "x", "sea sea", "storm st"}) {
+            for(int limit : new int[]{1, 5, 50, 500}) {
+                assertEquals(bruteForce(ranked, query, limit), index.search(query, limit), query + " / " + limit);
+            }
+        }
+    }
+
+    @Test
+    void queriesIgnoreCaseAccentsAndPunctuation() {
+        TitlePrefixIndex index = TitlePrefixIndex.build(List.of(
+                new TitlePrefixIndex.Document(1, "Amélie", "a", 1),
+                new TitlePrefixIndex.Document(2, "Spider-Man: Homecoming", "b", 2)));
+
+        assertEquals(List.of(new TitlePrefixIndex.Suggestion(1, "Amélie", "a")), index.search("AME", 5));
+        assertEquals(List.of(new TitlePrefixIndex.Suggestion(2, "Spider-Man: Homecoming", "b")), index.search("spider home", 5));
+    }
+
+    @Test
+    void blankQueriesAndEmptyIndexesReturnNothing() {
+        TitlePrefixIndex index = TitlePrefixIndex.build(List.of(new TitlePrefixIndex.Document(1, "Star", "a", 1)));
+
+        assertTrue(index.search("  ", 5).isEmpty());
+        assertTrue(index.search("st", 0).isEmpty());
+        assertTrue(TitlePrefixIndex.EMPTY.search("st", 5).isEmpty());
+    }
+
+    private static List<TitlePrefixIndex.Suggestion> bruteForce(List<TitlePrefixIndex.Document> ranked, String query, int limit) {
+        String[] queryTokens = TextNormalizer.tokens(query);
+        return ranked.stream()
+                .filter(document -> {
+                    String[] titleTokens = TextNormalizer.tokens(document.title());
+                    return Arrays.stream(queryTokens).allMatch(q -> Arrays.stream(titleTokens).anyMatch(t -> t.startsWith(q)));
+                })
+                .limit(limit)
+                .map(document -> new TitlePrefixIndex.Suggestion(document.id(), document.title(), document.posterUuid()))
+                .toList();
+    }
+}
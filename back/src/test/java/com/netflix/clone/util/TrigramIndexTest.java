@@ -0,0 +1,93 @@
+package com.netflix.clone.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    @Test
+    void trigramsArePaddedPerWord() {
+        assertEquals(Set.of("  c", " ca", "cat", "at "), TrigramIndex.trigrams("Cat"));
+        assertEquals(Set.of("  a", " a ", "  b", " b "), TrigramIndex.trigrams("a, b!"));
+        assertTrue(TrigramIndex.trigrams("  --  ").isEmpty());
+    }
+
+    @Test
+    void misspelledQueriesFindTheTitle() {
+        TrigramIndex index = TrigramIndex.build(List.of(
+                new TrigramIndex.Document(1, List.of("Interstellar")),
+                new TrigramIndex.Document(2, List.of("The Godfather")),
+                new TrigramIndex.Document(3, List.of("Inception"))));
+
+        List<TrigramIndex.Match> matches = index.search("intersteller", 5, 0.3, 10_000);
+        assertEquals(1, matches.size());
+        assertEquals(1, matches.get(0).id());
+        assertEquals(2, index.search("godfathr", 5, 0.3, 10_000).get(0).id());
+    }
+
+    @Test
+    void matchesABruteForceJaccardScanWhenTheBudgetIsNotReached() {
+        Random random = new Random(5);
+        String[] words = {"night", "knight", "nights", "light", "sight", "star", "start", "stars", "storm"};
+        List<TrigramIndex.Document> documents = new ArrayList<>();
+        for(int id = 1; id <= 200; id++) {
+            List<String> fields = new ArrayList<>();
+            for(int f = 0, count = 1 + random.nextInt(2); f < count; f++) {
+                fields.add(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]);
+            }
+            documents.add(new TrigramIndex.Document(id, fields));
+        }
+        TrigramIndex index = TrigramIndex.build(documents);
+
+        for(String query : new String[]{"nigth", "star storm", "lihgt", "knights", "zzz"}) {
+            assertEquals(bruteForce(documents, query, 10, 0.3), index.search(query, 10, 0.3, 100_000), query);
+        }
+    }
+
+    @Test
+    void rarestPostingsAreScannedFirstAndTheBudgetStopsCommonOnes() {
+        List<TrigramIndex.Document> documents = new ArrayList<>();
+        for(int id = 1; id <= 500; id++) {
+            documents.add(new TrigramIndex.Document(id, List.of("alpha")));
+        }
+        documents.add(new TrigramIndex.Document(1000, List.of("alphz")));
+        TrigramIndex index = TrigramIndex.build(documents);
+
+        List<TrigramIndex.Match> matches = index.search("alphz", 10, 0.1, 10);
+        assertEquals(1, matches.size());
+        assertEquals(1000, matches.get(0).id());
+        assertEquals(2.0 / 10, matches.get(0).similarity(), 1e-9);
+    }
+
+    private static List<TrigramIndex.Match> bruteForce(List<TrigramIndex.Document> documents, String query, int limit, double minSimilarity) {
+        Set<String> queryGrams = TrigramIndex.trigrams(query);
+        List<TrigramIndex.Match> matches = new ArrayList<>();
+        for(TrigramIndex.Document document : documents) {
+            double best = -1;
+            for(String field : document.fields()) {
+                Set<String> fieldGrams = TrigramIndex.trigrams(field);
+                Set<String> shared = new HashSet<>(fieldGrams);
+                shared.retainAll(queryGrams);
+                if(!shared.isEmpty()) {
+                    best = Math.max(best, (double) shared.size() / (queryGrams.size() + fieldGrams.size() - shared.size()));
+                }
+            }
+            if(best >= minSimilarity) {
+                matches.add(new TrigramIndex.Match(document.id(), best));
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(TrigramIndex.Match::similarity).reversed().thenComparingLong(TrigramIndex.Match::id))
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.netflix.clone.util;
+
+import com.netflix.clone.exception.InvalidTokenException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WatchlistCursorTest {
+
+    @Test
+    void roundTripsTheLastRowIncludingNanoseconds() {
+        WatchlistCursor cursor = new WatchlistCursor(Instant.parse("2024-05-01T10:15:30.123456789Z"), 42);
+
+        assertEquals(cursor, WatchlistCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodedCursorsAreUrlSafe() {
+        String encoded = new WatchlistCursor(Instant.MAX, Long.MAX_VALUE).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void malformedCursorsAreRejectedAsInvalidTokens() {
+        for(String cursor : new String[]{"", "!!!", encode("1.2"), encode("a.b.c")}) {
+            assertThrows(InvalidTokenException.class, () -> WatchlistCursor.decode(cursor), cursor);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,2 @@
+CREATE ALIAS IF NOT EXISTS sha2 FOR 'com.netflix.clone.dao.H2MySqlFunctions.sha2';
+CREATE ALIAS IF NOT EXISTS utc_timestamp FOR 'com.netflix.clone.dao.H2MySqlFunctions.utcTimestamp';
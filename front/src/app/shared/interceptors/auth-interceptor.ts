@@ -1,29 +1,35 @@
 import { HttpInterceptorFn } from '@angular/common/http';
 import {inject} from '@angular/core';
 import {AuthService} from '../services/auth-service';
-import {catchError, throwError} from 'rxjs';
+import {catchError, switchMap, throwError} from 'rxjs';
+
+const withToken = (req: any, token: string | null) =>
+  token ? req.clone({setHeaders: {Authorization: `Bearer ${token}`}}) : req;
 
 export const authInterceptor: HttpInterceptorFn = (req, next) => {
   const authService = inject(AuthService);
   const token = localStorage.getItem('token');
 
-  let request = req;
-
-  if(token) {
-    request = req.clone({
-      setHeaders: {
-        Authorization: `Bearer ${token}`
-      }
-    });
-  } else {
+  if(!token) {
     console.log('No token found, request not found');
   }
 
-  return next(request).pipe(
+  return next(withToken(req, token)).pipe(
     catchError((error) => {
-      if(error.status === 401 || error.status === 403) {
-        authService.logout()
+      if(error.status !== 401 && error.status !== 403) {
+        return throwError(error);
+      }
+      // Access tokens are short-lived: try one refresh and replay the request before giving up on the session.
+      if(authService.getRefreshToken() && !req.url.includes('/auth/')) {
+        return authService.refreshToken().pipe(
+          switchMap(response => next(withToken(req, response.token))),
+          catchError((refreshError) => {
+            authService.logout();
+            return throwError(refreshError);
+          })
+        );
       }
+      authService.logout();
       return throwError(error);
     })
   );
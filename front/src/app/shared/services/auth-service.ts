@@ -2,7 +2,7 @@ import { Injectable } from '@angular/core';
 import {environment} from '../../../environments/environment';
 import {HttpClient, HttpResponse} from '@angular/common/http';
 import {AbstractControl, ValidationErrors, ValidatorFn} from '@angular/forms';
-import {BehaviorSubject, tap} from 'rxjs';
+import {BehaviorSubject, finalize, Observable, shareReplay, tap} from 'rxjs';
 import {Router} from '@angular/router';
 
 @Injectable({
@@ -12,6 +12,7 @@ export class AuthService {
   private apiUrl = environment.apiUrl + '/auth';
 
   private currentUserSubject = new BehaviorSubject<any>(null);
+  private refreshInFlight: Observable<any> | null = null;
   public currentUser$ = this.currentUserSubject.asObservable();
 
   constructor(private http: HttpClient,
@@ -46,6 +47,9 @@ export class AuthService {
     if(authData?.token) {
       localStorage.setItem('token', authData.token);
     }
+    if(authData?.refreshToken) {
+      localStorage.setItem('refreshToken', authData.refreshToken);
+    }
     this.setCurrentUser(authData);
   }
 
@@ -61,6 +65,23 @@ export class AuthService {
     return localStorage.getItem('token');
   }
 
+  getRefreshToken(): string | null {
+    return localStorage.getItem('refreshToken');
+  }
+
+  // Concurrent 401s share one refresh call; refresh tokens rotate, so a second call would present a used token.
+  refreshToken(): Observable<any> {
+    if(!this.refreshInFlight) {
+      this.refreshInFlight = this.http.post(this.apiUrl + '/refresh', {refreshToken: this.getRefreshToken()})
+        .pipe(
+          tap(response => this.handleAuthSuccess(response)),
+          finalize(() => this.refreshInFlight = null),
+          shareReplay(1)
+        );
+    }
+    return this.refreshInFlight;
+  }
+
   isLoggedIn(): boolean {
     return !!this.getToken();
   }
@@ -113,7 +134,12 @@ export class AuthService {
   }
 
   logout() {
+    const refreshToken = this.getRefreshToken();
+    if(this.getToken() || refreshToken) {
+      this.http.post(this.apiUrl + '/logout', {refreshToken}).subscribe({error: () => {}});
+    }
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     this.currentUserSubject.next(null);
     this.router.navigate(['/'])
   }
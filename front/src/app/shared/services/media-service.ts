@@ -53,6 +53,11 @@ export class MediaService {
       return null;
     }
 
+    // URLs from the API come pre-signed for the current user; only bare uuids still need the token.
+    if(value.includes(`/${type}/`) && value.includes('&s=')) {
+      return value;
+    }
+
     let uuid = value;
     if(value.includes(`/${type}/`)) {
       uuid = value.substring(value.lastIndexOf('/') + 1);